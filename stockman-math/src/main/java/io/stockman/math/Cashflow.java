@@ -0,0 +1,209 @@
+package io.stockman.math;
+
+import io.stockman.domain.Transaction;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive form of a cashflow: flows sorted by date, at most one flow per date, no zero flows.
+ * All amounts are expected to be in the same currency.
+ *
+ * Netting drops a flow only when amounts add up to exactly {@code 0d}, so a rounding residual
+ * of summed doubles, e.g. 1e-13, is kept as a flow.
+ *
+ * Portfolio cashflows are built with {@link #merge(List)} from per-position ones, and merged cashflows
+ * can be merged again, so rollups like position -> account -> book never go through transaction lists.
+ */
+public class Cashflow {
+
+    // epoch days, ascending and distinct
+    private final long[] days;
+    private final double[] amounts;
+    private final int size;
+
+    private Cashflow(long[] days, double[] amounts, int size) {
+        this.days = days;
+        this.amounts = amounts;
+        this.size = size;
+    }
+
+    /**
+     * @param transactions in any order, same date flows are netted
+     */
+    public static Cashflow of(List<Transaction> transactions) {
+        long[] days = new long[transactions.size()];
+        double[] amounts = new double[transactions.size()];
+        for (int i = 0; i < transactions.size(); i++) {
+            days[i] = transactions.get(i).getDate().toEpochDay();
+            amounts[i] = transactions.get(i).getAmount().getNumber().doubleValueExact();
+        }
+        if (!isSorted(days)) {
+            // epoch day in high bits, index in low bits: sorting keys sorts by date, stable
+            long[] keys = new long[days.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = days[i] << 32 | i;
+            }
+            Arrays.sort(keys);
+            long[] sortedDays = new long[days.length];
+            double[] sortedAmounts = new double[amounts.length];
+            for (int i = 0; i < keys.length; i++) {
+                int index = (int) keys[i];
+                sortedDays[i] = days[index];
+                sortedAmounts[i] = amounts[index];
+            }
+            return net(sortedDays, sortedAmounts, sortedDays.length);
+        }
+        return net(days, amounts, days.length);
+    }
+
+    /**
+     * @param epochDays ascending, same date flows are netted
+     */
+    public static Cashflow of(long[] epochDays, double[] amounts) {
+        if (epochDays.length != amounts.length) {
+            throw new IllegalArgumentException(
+                    "Dates and amounts differ in length: " + epochDays.length + " and " + amounts.length);
+        }
+        if (!isSorted(epochDays)) {
+            throw new IllegalArgumentException("Cashflow dates are not sorted " + Arrays.toString(epochDays));
+        }
+        return net(Arrays.copyOf(epochDays, epochDays.length), Arrays.copyOf(amounts, amounts.length), epochDays.length);
+    }
+
+    /**
+     * K-way merge of sorted cashflows with min-heap of cashflows ordered by their next date.
+     * Flows of the same date are netted on the fly, so the result has a term per distinct date.
+     */
+    public static Cashflow merge(List<Cashflow> cashflows) {
+        Cashflow[] parts = cashflows.toArray(new Cashflow[0]);
+        int total = 0;
+        for (Cashflow part : parts) {
+            total += part.size;
+        }
+        long[] days = new long[total];
+        double[] amounts = new double[total];
+        int size = 0;
+
+        int[] cursors = new int[parts.length];
+        int[] heap = new int[parts.length];
+        int heapSize = 0;
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].size > 0) {
+                heap[heapSize++] = i;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, parts, cursors);
+        }
+
+        while (heapSize > 0) {
+            int top = heap[0];
+            Cashflow part = parts[top];
+            long day = part.days[cursors[top]];
+            double amount = part.amounts[cursors[top]++];
+            if (size > 0 && days[size - 1] == day) {
+                amounts[size - 1] += amount;
+            } else {
+                days[size] = day;
+                amounts[size++] = amount;
+            }
+            if (cursors[top] == part.size) {
+                heap[0] = heap[--heapSize];
+            }
+            if (heapSize > 0) {
+                siftDown(heap, heapSize, 0, parts, cursors);
+            }
+        }
+        return net(days, amounts, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(days[i]);
+    }
+
+    public long epochDay(int i) {
+        return days[i];
+    }
+
+    public double amount(int i) {
+        return amounts[i];
+    }
+
+    long[] getDays() {
+        return days;
+    }
+
+    double[] getAmounts() {
+        return amounts;
+    }
+
+    @Override
+    public String toString() {
+        return size == 0
+                ? "Cashflow of 0 flows"
+                : "Cashflow of " + size + " flows from " + date(0) + " to " + date(size - 1);
+    }
+
+    private static boolean isSorted(long[] days) {
+        for (int i = 1; i < days.length; i++) {
+            if (days[i] < days[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nets flows of the same date and drops zero flows in place
+     */
+    private static Cashflow net(long[] days, double[] amounts, int length) {
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size > 0 && days[size - 1] == days[i]) {
+                amounts[size - 1] += amounts[i];
+            } else {
+                if (size > 0 && amounts[size - 1] == 0d) {
+                    size--;
+                }
+                days[size] = days[i];
+                amounts[size++] = amounts[i];
+            }
+        }
+        if (size > 0 && amounts[size - 1] == 0d) {
+            size--;
+        }
+        return new Cashflow(days, amounts, size);
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int i, Cashflow[] parts, int[] cursors) {
+        int item = heap[i];
+        long itemDay = parts[item].days[cursors[item]];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            long childDay = parts[heap[child]].days[cursors[heap[child]]];
+            if (child + 1 < heapSize) {
+                long rightDay = parts[heap[child + 1]].days[cursors[heap[child + 1]]];
+                if (rightDay < childDay) {
+                    child++;
+                    childDay = rightDay;
+                }
+            }
+            if (itemDay <= childDay) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+}
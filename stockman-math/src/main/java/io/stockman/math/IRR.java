@@ -53,11 +53,34 @@ public class IRR {
             dates[i] = DAYS.between(start, transactions.get(i).getDate());
             amounts[i] = transactions.get(i).getAmount().getNumber().doubleValueExact();
         }
+        return compute(dates, amounts, dates.length, transactions);
+    }
+
+    /**
+     * Solves merged cashflow directly, without going through transaction list.
+     *
+     * @param cashflow e.g. portfolio cashflow, see {@link Cashflow#merge(List)}
+     * @return IRR, i.e. discount rate when NPV = 0
+     */
+    public OptionalDouble compute(Cashflow cashflow) {
+        if (cashflow.size() < 2) {
+            throw new IllegalArgumentException(
+                    "IRR requires cashflow of at least 2 flows. Provided " + cashflow);
+        }
+        return compute(cashflow.getDays(), cashflow.getAmounts(), cashflow.size(), cashflow);
+    }
+
+    /**
+     * @param dates  in days, dates[0] is the base date
+     * @param source cashflow description for logging
+     */
+    private OptionalDouble compute(long[] dates, double[] amounts, int size, Object source) {
+        long base = dates[0];
 
         DoubleUnaryOperator npv = x -> {
             double f = amounts[0];
-            for (int i = 1; i < dates.length; i++) {
-                f += amounts[i] / pow(1d + x, dates[i] / 365d);
+            for (int i = 1; i < size; i++) {
+                f += amounts[i] / pow(1d + x, (dates[i] - base) / 365d);
             }
             return f;
         };
@@ -65,8 +88,9 @@ public class IRR {
         // http://www.wolframalpha.com/input/?i=d/dx a/(1+x)^(n/365)
         DoubleUnaryOperator d_npv = x -> {
             double df = 0d;
-            for (int i = 1; i < dates.length; i++) {
-                df -= dates[i] * amounts[i] / 365d * pow(1d + x, -(1d + dates[i] / 365d));
+            for (int i = 1; i < size; i++) {
+                long days = dates[i] - base;
+                df -= days * amounts[i] / 365d * pow(1d + x, -(1d + days / 365d));
             }
             return df;
         };
@@ -76,7 +100,7 @@ public class IRR {
             double root = solver.solve();
             return root > -1d ? OptionalDouble.of(root) : OptionalDouble.empty();
         } catch (IllegalStateException e) {
-            LOG.error("IRR equation root not found for cash flow {}", transactions, e);
+            LOG.error("IRR equation root not found for cash flow {}", source, e);
             return OptionalDouble.empty();
         }
     }
@@ -0,0 +1,214 @@
+package io.stockman.math;
+
+import io.stockman.domain.Transaction;
+import org.javamoney.moneta.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.Math.pow;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Generator of seeded cashflow corpora for IRR correctness and performance checks.
+ * Same seed always gives the same corpus.
+ *
+ * Most shapes are built backwards from chosen roots, so the true IRR is known without any solver:
+ * - conventional flows are scaled to have NPV = 0 at a chosen rate, single sign change makes the root unique
+ * - polynomial shapes use yearly periods, so NPV is a polynomial of x = 1/(1+r) with chosen roots
+ *
+ * {@link Money} is used instead of FastMoney, as 5 decimal places are not enough to keep roots exact.
+ */
+class CashflowCorpus {
+
+    enum Shape {
+        /** single outflow followed by up to 30 inflows within 5 years */
+        CONVENTIONAL,
+        /** conventional, but with 500 - 2000 inflows */
+        LARGE,
+        /** monthly inflows for 30 - 50 years */
+        LONG_HORIZON,
+        /** random signs, root is unknown and may not exist */
+        SIGN_CHANGES,
+        /** double root, i.e. NPV derivative is zero at the root */
+        NEAR_ZERO_DERIVATIVE,
+        /** 2 or 3 distinct roots */
+        MULTIPLE_ROOTS
+    }
+
+    static final class Case {
+
+        final Shape shape;
+        final List<Transaction> transactions;
+        // empty when not known
+        final double[] knownRoots;
+
+        Case(Shape shape, List<Transaction> transactions, double[] knownRoots) {
+            this.shape = shape;
+            this.transactions = transactions;
+            this.knownRoots = knownRoots;
+        }
+
+        @Override
+        public String toString() {
+            return shape + " of " + transactions.size() + " roots " + Arrays.toString(knownRoots);
+        }
+    }
+
+    private static final String CURRENCY = "USD";
+    private static final LocalDate EPOCH = LocalDate.parse("2000-01-01");
+    private static final int[] LARGE_SIZES = {500, 1000, 2000};
+
+    private final Random random;
+
+    CashflowCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @return corpus with all shapes evenly mixed
+     */
+    List<Case> generate(int size) {
+        Shape[] shapes = Shape.values();
+        var cases = new ArrayList<Case>(size);
+        for (int i = 0; i < size; i++) {
+            cases.add(next(shapes[i % shapes.length]));
+        }
+        return cases;
+    }
+
+    Case next(Shape shape) {
+        switch (shape) {
+            case CONVENTIONAL:
+                return conventional(shape, 1 + random.nextInt(30), 5 * 365, uniform(-0.5, 1.5));
+            case LARGE:
+                return conventional(shape, LARGE_SIZES[random.nextInt(LARGE_SIZES.length)], 10 * 365, uniform(-0.3, 0.5));
+            case LONG_HORIZON:
+                return longHorizon(30 + random.nextInt(21), uniform(-0.2, 0.3));
+            case SIGN_CHANGES:
+                return signChanges(3 + random.nextInt(38));
+            case NEAR_ZERO_DERIVATIVE:
+                double root = uniform(-0.3, 0.5);
+                return polynomial(shape, root, root);
+            case MULTIPLE_ROOTS:
+                return random.nextBoolean()
+                        ? polynomial(shape, distinctRates(2))
+                        : polynomial(shape, distinctRates(3));
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    private Case conventional(Shape shape, int inflows, int horizonDays, double rate) {
+        LocalDate start = randomStart();
+        long[] days = new long[inflows];
+        for (int i = 0; i < inflows; i++) {
+            days[i] = 1 + random.nextInt(horizonDays);
+        }
+        Arrays.sort(days);
+        double[] weights = new double[inflows];
+        for (int i = 0; i < inflows; i++) {
+            weights[i] = uniform(0.1, 1d);
+        }
+        return scaledToRate(shape, start, days, weights, rate);
+    }
+
+    private Case longHorizon(int years, double rate) {
+        LocalDate start = randomStart();
+        int months = years * 12;
+        long[] days = new long[months];
+        double[] weights = new double[months];
+        for (int i = 0; i < months; i++) {
+            days[i] = DAYS.between(start, start.plusMonths(i + 1));
+            weights[i] = uniform(0.5, 1d);
+        }
+        return scaledToRate(Shape.LONG_HORIZON, start, days, weights, rate);
+    }
+
+    /**
+     * Scales inflows, so NPV of the cashflow at given rate is exactly zero.
+     */
+    private Case scaledToRate(Shape shape, LocalDate start, long[] days, double[] weights, double rate) {
+        double investment = uniform(1e3, 1e6);
+        double presentValue = 0d;
+        for (int i = 0; i < days.length; i++) {
+            presentValue += weights[i] / pow(1d + rate, days[i] / 365d);
+        }
+        double scale = investment / presentValue;
+
+        var transactions = new ArrayList<Transaction>(days.length + 1);
+        transactions.add(transaction(-investment, start));
+        for (int i = 0; i < days.length; i++) {
+            transactions.add(transaction(weights[i] * scale, start.plusDays(days[i])));
+        }
+        return new Case(shape, transactions, new double[]{rate});
+    }
+
+    private Case signChanges(int size) {
+        LocalDate start = randomStart();
+        var transactions = new ArrayList<Transaction>(size);
+        transactions.add(transaction(-uniform(1e3, 1e5), start));
+        long day = 0;
+        for (int i = 1; i < size; i++) {
+            day += 1 + random.nextInt(180);
+            double amount = uniform(1e2, 1e5);
+            transactions.add(transaction(random.nextInt(3) == 0 ? -amount : amount, start.plusDays(day)));
+        }
+        return new Case(Shape.SIGN_CHANGES, transactions, new double[0]);
+    }
+
+    /**
+     * NPV of yearly cashflow is a polynomial of x = 1/(1+r),
+     * so amounts are coefficients of c * (x - x1) * (x - x2) * ...
+     * Periods are exactly 365 days, as IRR uses 365-day years.
+     */
+    private Case polynomial(Shape shape, double... rates) {
+        double[] coefficients = {uniform(1e3, 1e5)};
+        for (double rate : rates) {
+            double root = 1d / (1d + rate);
+            double[] next = new double[coefficients.length + 1];
+            for (int i = 0; i < coefficients.length; i++) {
+                next[i] -= root * coefficients[i];
+                next[i + 1] += coefficients[i];
+            }
+            coefficients = next;
+        }
+        LocalDate start = randomStart();
+        var transactions = new ArrayList<Transaction>(coefficients.length);
+        for (int i = 0; i < coefficients.length; i++) {
+            transactions.add(transaction(coefficients[i], start.plusDays(365L * i)));
+        }
+        return new Case(shape, transactions, Arrays.stream(rates).distinct().toArray());
+    }
+
+    private double[] distinctRates(int count) {
+        double[] rates = new double[count];
+        for (int i = 0; i < count; i++) {
+            boolean distinct;
+            do {
+                rates[i] = uniform(-0.5, 1d);
+                distinct = true;
+                for (int j = 0; j < i; j++) {
+                    distinct &= Math.abs(rates[i] - rates[j]) > 0.05;
+                }
+            } while (!distinct);
+        }
+        return rates;
+    }
+
+    private LocalDate randomStart() {
+        return EPOCH.plusDays(random.nextInt(20 * 365));
+    }
+
+    private double uniform(double from, double to) {
+        return from + (to - from) * random.nextDouble();
+    }
+
+    private static Transaction transaction(double amount, LocalDate date) {
+        return new Transaction(Money.of(amount, CURRENCY), date);
+    }
+
+}
@@ -0,0 +1,148 @@
+package io.stockman.math;
+
+import io.stockman.domain.Transaction;
+import org.javamoney.moneta.FastMoney;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.stockman.math.IRRTest.EXCEL_IRR;
+import static io.stockman.math.IRRTest.EXCEL_TOL;
+import static java.time.LocalDate.parse;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class CashflowTest {
+
+    @Test
+    public void ofUnsortedTransactions() {
+        var cashflow = Cashflow.of(new ArrayList<Transaction>(){{
+            add(new Transaction(FastMoney.of(2750, "USD"), parse("2008-03-01")));
+            add(new Transaction(FastMoney.of(-10000, "USD"), parse("2008-01-01")));
+            add(new Transaction(FastMoney.of(500, "USD"), parse("2008-03-01")));
+        }});
+
+        assertThat(cashflow.size()).isEqualTo(2);
+        assertThat(cashflow.date(0)).isEqualTo("2008-01-01");
+        assertThat(cashflow.amount(0)).isEqualTo(-10000d);
+        assertThat(cashflow.date(1)).isEqualTo("2008-03-01");
+        assertThat(cashflow.amount(1)).isEqualTo(3250d);
+    }
+
+    @Test
+    public void ofUnsortedTransactionsAroundEpoch() {
+        var cashflow = Cashflow.of(new ArrayList<Transaction>(){{
+            add(new Transaction(FastMoney.of(3000, "USD"), parse("1970-01-02")));
+            add(new Transaction(FastMoney.of(-10000, "USD"), parse("1969-12-01")));
+            add(new Transaction(FastMoney.of(2000, "USD"), parse("1969-12-31")));
+        }});
+
+        assertThat(cashflow.date(0)).isEqualTo("1969-12-01");
+        assertThat(cashflow.date(1)).isEqualTo("1969-12-31");
+        assertThat(cashflow.date(2)).isEqualTo("1970-01-02");
+        assertThat(cashflow.amount(2)).isEqualTo(3000d);
+    }
+
+    @Test
+    public void roundingResidualIsKept() {
+        var cashflow = Cashflow.of(new long[]{1, 1, 1, 2}, new double[]{0.1, 0.2, -0.3, 1d});
+
+        assertThat(cashflow.size()).isEqualTo(2);
+        assertThat(cashflow.amount(0)).isNotZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofUnsortedDays() {
+        Cashflow.of(new long[]{2, 1}, new double[]{-1d, 1d});
+    }
+
+    @Test
+    public void mergeNetsSameDate() {
+        var first = Cashflow.of(new long[]{1, 5, 9}, new double[]{-100d, 10d, 50d});
+        var second = Cashflow.of(new long[]{2, 5, 12}, new double[]{-30d, 20d, 70d});
+        var third = Cashflow.of(new long[]{5, 9}, new double[]{1d, -50d});
+
+        var merged = Cashflow.merge(List.of(first, second, third));
+
+        // flows of day 9 net to zero and disappear
+        assertThat(merged.size()).isEqualTo(4);
+        assertThat(merged.epochDay(0)).isEqualTo(1);
+        assertThat(merged.epochDay(1)).isEqualTo(2);
+        assertThat(merged.epochDay(2)).isEqualTo(5);
+        assertThat(merged.amount(2)).isEqualTo(31d);
+        assertThat(merged.epochDay(3)).isEqualTo(12);
+    }
+
+    @Test
+    public void mergeEmpty() {
+        assertThat(Cashflow.merge(emptyList()).size()).isZero();
+        assertThat(Cashflow.merge(List.of(Cashflow.of(emptyList()), Cashflow.of(new long[]{3}, new double[]{1d})))
+                .size()).isEqualTo(1);
+    }
+
+    /**
+     * position -> account -> book rollup gives the same result as a single merge of all positions
+     */
+    @Test
+    public void mergeHierarchically() {
+        var positions = new ArrayList<Cashflow>();
+        for (int p = 0; p < 12; p++) {
+            long[] days = new long[20];
+            double[] amounts = new double[20];
+            for (int i = 0; i < days.length; i++) {
+                days[i] = p + i * 7L;
+                amounts[i] = i == 0 ? -1000d : 60d + p;
+            }
+            positions.add(Cashflow.of(days, amounts));
+        }
+        var accounts = List.of(
+                Cashflow.merge(positions.subList(0, 5)),
+                Cashflow.merge(positions.subList(5, 8)),
+                Cashflow.merge(positions.subList(8, 12)));
+
+        var book = Cashflow.merge(accounts);
+        var flat = Cashflow.merge(positions);
+
+        assertThat(book.size()).isEqualTo(flat.size());
+        for (int i = 0; i < flat.size(); i++) {
+            assertThat(book.epochDay(i)).isEqualTo(flat.epochDay(i));
+            assertThat(book.amount(i)).isCloseTo(flat.amount(i), offset(1e-9));
+            if (i > 0) {
+                assertThat(flat.epochDay(i)).isGreaterThan(flat.epochDay(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Portfolio IRR of merged positions is the same as IRR of all position transactions together
+     */
+    @Test
+    public void portfolioIrr() {
+        var bond = new ArrayList<Transaction>(){{
+            add(new Transaction(FastMoney.of(-10000, "USD"), parse("2008-01-01")));
+            add(new Transaction(FastMoney.of(2750, "USD"), parse("2008-03-01")));
+            add(new Transaction(FastMoney.of(4250, "USD"), parse("2008-10-30")));
+        }};
+        var stock = new ArrayList<Transaction>(){{
+            add(new Transaction(FastMoney.of(-5000, "USD"), parse("2008-03-01")));
+            add(new Transaction(FastMoney.of(3250, "USD"), parse("2009-02-15")));
+            add(new Transaction(FastMoney.of(2750, "USD"), parse("2009-04-01")));
+        }};
+        var all = new ArrayList<Transaction>(bond);
+        all.addAll(stock);
+
+        var portfolio = Cashflow.merge(List.of(Cashflow.of(bond), Cashflow.of(stock)));
+
+        assertThat(portfolio.size()).isEqualTo(5);
+        assertThat(EXCEL_IRR.compute(portfolio)).hasValueCloseTo(EXCEL_IRR.compute(all).getAsDouble(), offset(EXCEL_TOL));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void portfolioIrrOfNettedOutCashflow() {
+        var position = Cashflow.of(new long[]{1, 1, 10}, new double[]{-100d, 100d, 5d});
+        EXCEL_IRR.compute(position);
+    }
+
+}
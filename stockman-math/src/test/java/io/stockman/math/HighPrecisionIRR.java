@@ -0,0 +1,100 @@
+package io.stockman.math;
+
+import io.stockman.domain.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static java.lang.Math.pow;
+import static java.math.BigDecimal.valueOf;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Version of {@link IRR} based on {@link BigDecimal}.
+ * Mostly for testing and validation purpose.
+ *
+ * Created by maksim.alekseev on 24/04/2018
+ */
+class HighPrecisionIRR {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HighPrecisionIRR.class);
+
+    private static final MathContext MC = new MathContext(50, RoundingMode.HALF_UP);
+
+    private final BigDecimal guess;
+    private final BigDecimal tolerance;
+    private final int itersLimit;
+
+    public HighPrecisionIRR(double guess, double tolerance, int itersLimit) {
+        this.itersLimit = itersLimit;
+        this.tolerance = valueOf(tolerance);
+        this.guess = valueOf(guess);
+    }
+
+    public Optional<BigDecimal> compute(List<Transaction> transactions) {
+        long[] dates = new long[transactions.size()];
+        BigDecimal[] amounts = new BigDecimal[transactions.size()];
+
+        LocalDate start = transactions.get(0).getDate();
+        for (int i = 0; i < transactions.size(); i++) {
+            // dates are relative here, and dates[0] == 0
+            dates[i] = DAYS.between(start, transactions.get(i).getDate());
+            amounts[i] = valueOf(transactions.get(i).getAmount().getNumber().doubleValueExact());
+        }
+
+        UnaryOperator<BigDecimal> npv = x -> {
+            BigDecimal f = amounts[0];
+            for (int i = 1; i < dates.length; i++) {
+                f = f.add(amounts[i].divide(valueOf(pow(1d + x.doubleValue(), dates[i] / 365d)), MC), MC);
+            }
+            return f;
+        };
+
+        // check another function from excel improvement article
+        UnaryOperator<BigDecimal> d_npv = x -> {
+            BigDecimal df = BigDecimal.ZERO;
+            for (int i = 1; i < dates.length; i++) {
+                df = df.subtract(valueOf(dates[i]).multiply(amounts[i], MC).divide(valueOf(365d), MC).multiply(valueOf(pow(1d + x.doubleValue(), -1d - dates[i] / 365d)), MC), MC);
+            }
+            return df;
+        };
+
+        var solver = new HighPrecisionNewtonSolver(npv, d_npv, guess, tolerance, itersLimit, MC);
+        try {
+            BigDecimal root = solver.solve();
+            return Optional.of(root).filter(r -> r.compareTo(valueOf(-1L)) > 0);
+        } catch (IllegalStateException e) {
+            LOG.error("IRR equation root not found for cash flow {}", transactions, e);
+            return Optional.empty();
+        }
+    }
+
+    public UnaryOperator<BigDecimal> getNpvFunc(List<Transaction> transactions) {
+        long[] dates = new long[transactions.size()];
+        BigDecimal[] amounts = new BigDecimal[transactions.size()];
+
+        LocalDate start = transactions.get(0).getDate();
+        for (int i = 0; i < transactions.size(); i++) {
+            // dates are relative here, and dates[0] == 0
+            dates[i] = DAYS.between(start, transactions.get(i).getDate());
+            amounts[i] = valueOf(transactions.get(i).getAmount().getNumber().doubleValueExact());
+        }
+
+        UnaryOperator<BigDecimal> npv = x -> {
+            BigDecimal f = amounts[0];
+            for (int i = 1; i < dates.length; i++) {
+                f = f.add(amounts[i].divide(valueOf(pow(1d + x.doubleValue(), dates[i] / 365d)), MC), MC);
+            }
+            return f;
+        };
+        return npv;
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.stockman.math;
+
+import io.stockman.math.algo.NewtonRaphsonSolver;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.UnaryOperator;
+
+import static java.math.BigDecimal.valueOf;
+
+/**
+ * Version of {@link NewtonRaphsonSolver} based on {@link BigDecimal}.
+ * Mostly for testing and validation purpose.
+ *
+ * Created by maksim.alekseev on 24/04/2018
+ */
+class HighPrecisionNewtonSolver {
+
+    private static final String DIV_BY_0_TEMPLATE = "Derivative is zero at x = %s, iteration %s. Try another guess.";
+    private static final String ITER_LIMIT_TEMPLATE = "Exceeded max iterations limit of %s.";
+
+    private final BigDecimal guess;
+    private final BigDecimal tolerance;
+    private final int iterationsLimit;
+    private final MathContext mc;
+
+    // function to solve
+    private final UnaryOperator<BigDecimal> f;
+
+    // derivative of the function to solve
+    private final UnaryOperator<BigDecimal> df;
+
+    public HighPrecisionNewtonSolver(UnaryOperator<BigDecimal> f,
+                                     UnaryOperator<BigDecimal> df,
+                                     BigDecimal guess,
+                                     BigDecimal tolerance,
+                                     int iterationsLimit,
+                                     MathContext mc) {
+        this.f = f;
+        this.df = df;
+        this.mc = mc;
+        this.guess = guess;
+        this.tolerance = tolerance;
+        this.iterationsLimit = iterationsLimit;
+    }
+
+    public BigDecimal solve() {
+        BigDecimal x0 = guess, x1, err = valueOf(Double.MAX_VALUE);
+        int iter = 0;
+        while (err.compareTo(tolerance) > 0 && iter++ < iterationsLimit) {
+            BigDecimal fx = f.apply(x0);
+            BigDecimal dfx = df.apply(x0);
+            if (dfx.equals(BigDecimal.ZERO)) {
+                throw new IllegalStateException(String.format(DIV_BY_0_TEMPLATE, x0, iter));
+            }
+            x1 = x0.subtract(fx.divide(dfx, mc), mc);
+            err = x1.compareTo(x0) > 0 ? x1.subtract(x0, mc) : x0.subtract(x1, mc);
+            x0 = x1;
+        }
+        if (iter <= iterationsLimit) {
+            return x0;
+        } else {
+            throw new IllegalStateException(String.format(ITER_LIMIT_TEMPLATE, iterationsLimit));
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.stockman.math;
+
+import io.stockman.math.CashflowCorpus.Shape;
+import io.stockman.math.IRRDifferentialHarness.Implementation;
+import io.stockman.math.IRRDifferentialHarness.Stats;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.stockman.math.IRRDifferentialTest.MISMATCH_THRESHOLD;
+import static io.stockman.math.IRRTest.EXCEL_GUESS;
+import static io.stockman.math.IRRTest.EXCEL_ITERATIONS;
+import static io.stockman.math.IRRTest.EXCEL_TOL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares every IRR implementation with {@link HighPrecisionIRR} over seeded corpus of generated cashflows:
+ * failure rate, max error and throughput per cashflow shape. Not a part of unit test run, use e.g.
+ * {@code mvn test -Dtest=IRRDifferentialBenchmark -Dirr.corpus.size=10000 -Dirr.corpus.seed=7}
+ */
+public class IRRDifferentialBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IRRDifferentialBenchmark.class);
+
+    private static final long SEED = Long.getLong("irr.corpus.seed", IRRDifferentialTest.SEED);
+    private static final int SIZE = Integer.getInteger("irr.corpus.size", 300);
+
+    @Test
+    public void compareImplementations() {
+        Implementation highPrecision = Implementation.of("HighPrecisionIRR",
+                new HighPrecisionIRR(EXCEL_GUESS, EXCEL_TOL, EXCEL_ITERATIONS));
+        Implementation primitive = Implementation.of("IRR", new IRR(EXCEL_GUESS, EXCEL_TOL, EXCEL_ITERATIONS));
+
+        var harness = new IRRDifferentialHarness(highPrecision, MISMATCH_THRESHOLD);
+        Map<String, Map<Shape, Stats>> results = harness.run(
+                new CashflowCorpus(SEED).generate(SIZE), List.of(primitive, highPrecision));
+        LOG.info("IRR implementations over corpus of {} cashflows, seed {}\n{}", SIZE, SEED, harness.report(results));
+
+        // single sign change means the only root, and double precision should find it
+        for (Shape shape : List.of(Shape.CONVENTIONAL, Shape.LARGE, Shape.LONG_HORIZON)) {
+            Stats stats = results.get(primitive.name()).get(shape);
+            assertThat(stats.mismatches).as("%s mismatches", shape).isZero();
+            assertThat(stats.maxError).as("%s max error", shape).isLessThan(MISMATCH_THRESHOLD);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.stockman.math;
+
+import io.stockman.domain.Transaction;
+import io.stockman.math.CashflowCorpus.Case;
+import io.stockman.math.CashflowCorpus.Shape;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Runs every IRR implementation over the same corpus and collects max error, failure rate and throughput.
+ *
+ * Error of a found root is the distance to the nearest known root of the case.
+ * When roots are not known (random sign changes), reference implementation result is used instead,
+ * and cases where the reference fails are not counted in errors.
+ */
+class IRRDifferentialHarness {
+
+    /**
+     * Anything that computes IRR of a cashflow. New solvers join the comparison by adding one of these.
+     */
+    interface Implementation {
+
+        String name();
+
+        OptionalDouble compute(List<Transaction> transactions);
+
+        static Implementation of(String name, IRR irr) {
+            return new Implementation() {
+                @Override
+                public String name() {
+                    return name;
+                }
+
+                @Override
+                public OptionalDouble compute(List<Transaction> transactions) {
+                    return irr.compute(transactions);
+                }
+            };
+        }
+
+        static Implementation of(String name, HighPrecisionIRR irr) {
+            return new Implementation() {
+                @Override
+                public String name() {
+                    return name;
+                }
+
+                @Override
+                public OptionalDouble compute(List<Transaction> transactions) {
+                    Optional<BigDecimal> root = irr.compute(transactions);
+                    return root.isPresent() ? OptionalDouble.of(root.get().doubleValue()) : OptionalDouble.empty();
+                }
+            };
+        }
+    }
+
+    static final class Stats {
+
+        int cases;
+        int failures;
+        int mismatches;
+        double maxError;
+        long nanos;
+
+        double failureRate() {
+            return cases == 0 ? 0d : (double) failures / cases;
+        }
+
+        double throughput() {
+            return nanos == 0L ? 0d : cases * 1e9 / nanos;
+        }
+    }
+
+    private static final String HEADER_FORMAT = "%-16s %-22s %8s %9s %10s %12s %12s%n";
+    private static final String ROW_FORMAT = "%-16s %-22s %8d %8.2f%% %10d %12.3e %12.1f%n";
+
+    private final Implementation reference;
+    private final double mismatchThreshold;
+
+    /**
+     * @param reference         implementation to trust when roots are not known
+     * @param mismatchThreshold error above which a root counts as mismatch, e.g. wrong one of multiple roots
+     */
+    IRRDifferentialHarness(Implementation reference, double mismatchThreshold) {
+        this.reference = reference;
+        this.mismatchThreshold = mismatchThreshold;
+    }
+
+    /**
+     * @return stats by implementation name and case shape
+     */
+    Map<String, Map<Shape, Stats>> run(List<Case> corpus, List<Implementation> implementations) {
+        var expected = new ArrayList<double[]>(corpus.size());
+        for (Case c : corpus) {
+            expected.add(c.knownRoots.length > 0 ? c.knownRoots : referenceRoots(c));
+        }
+
+        var results = new LinkedHashMap<String, Map<Shape, Stats>>();
+        for (Implementation implementation : implementations) {
+            // untimed pass, so timings don't include class loading and interpretation before JIT
+            for (Case c : corpus) {
+                computeSafely(implementation, c.transactions);
+            }
+            var byShape = new EnumMap<Shape, Stats>(Shape.class);
+            for (int i = 0; i < corpus.size(); i++) {
+                Case c = corpus.get(i);
+                Stats stats = byShape.computeIfAbsent(c.shape, s -> new Stats());
+
+                long start = System.nanoTime();
+                OptionalDouble root = computeSafely(implementation, c.transactions);
+                stats.nanos += System.nanoTime() - start;
+                stats.cases++;
+
+                if (root.isEmpty() || Double.isNaN(root.getAsDouble())) {
+                    stats.failures++;
+                } else if (expected.get(i).length > 0) {
+                    double error = distanceToNearest(root.getAsDouble(), expected.get(i));
+                    stats.maxError = Math.max(stats.maxError, error);
+                    if (error > mismatchThreshold) {
+                        stats.mismatches++;
+                    }
+                }
+            }
+            results.put(implementation.name(), byShape);
+        }
+        return results;
+    }
+
+    String report(Map<String, Map<Shape, Stats>> results) {
+        var report = new StringBuilder(String.format(HEADER_FORMAT,
+                "implementation", "shape", "cases", "failures", "mismatches", "max error", "cases/s"));
+        results.forEach((name, byShape) -> byShape.forEach((shape, stats) ->
+                report.append(String.format(ROW_FORMAT, name, shape, stats.cases, stats.failureRate() * 100,
+                        stats.mismatches, stats.maxError, stats.throughput()))));
+        return report.toString();
+    }
+
+    private double[] referenceRoots(Case c) {
+        OptionalDouble root = computeSafely(reference, c.transactions);
+        return root.isPresent() && !Double.isNaN(root.getAsDouble()) ? new double[]{root.getAsDouble()} : new double[0];
+    }
+
+    /**
+     * Solvers fail in different ways on bad cashflows, e.g. BigDecimal can't hold NaN, so all of them count as failure
+     */
+    private static OptionalDouble computeSafely(Implementation implementation, List<Transaction> transactions) {
+        try {
+            return implementation.compute(transactions);
+        } catch (RuntimeException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    private static double distanceToNearest(double value, double[] roots) {
+        double distance = Double.MAX_VALUE;
+        for (double root : roots) {
+            distance = Math.min(distance, Math.abs(value - root));
+        }
+        return distance;
+    }
+
+}
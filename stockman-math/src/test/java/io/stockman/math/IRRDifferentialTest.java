@@ -0,0 +1,83 @@
+package io.stockman.math;
+
+import io.stockman.math.CashflowCorpus.Case;
+import io.stockman.math.CashflowCorpus.Shape;
+import io.stockman.math.IRRDifferentialHarness.Implementation;
+import io.stockman.math.IRRDifferentialHarness.Stats;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.stockman.math.IRRTest.EXCEL_GUESS;
+import static io.stockman.math.IRRTest.EXCEL_ITERATIONS;
+import static io.stockman.math.IRRTest.EXCEL_TOL;
+import static java.math.BigDecimal.valueOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the corpus generator and {@link IRR} against known roots of a small seeded corpus.
+ */
+public class IRRDifferentialTest {
+
+    static final long SEED = 20180425L;
+    private static final int SIZE = 120;
+
+    // roots closer than this are considered the same
+    static final double MISMATCH_THRESHOLD = 1e-6;
+
+    @Test
+    public void corpusIsReproducible() {
+        List<Case> corpus = new CashflowCorpus(SEED).generate(60);
+        List<Case> same = new CashflowCorpus(SEED).generate(60);
+        List<Case> other = new CashflowCorpus(SEED + 1).generate(60);
+
+        for (int i = 0; i < corpus.size(); i++) {
+            assertThat(same.get(i).transactions).isEqualTo(corpus.get(i).transactions);
+            assertThat(same.get(i).knownRoots).isEqualTo(corpus.get(i).knownRoots);
+        }
+        assertThat(other.get(0).transactions).isNotEqualTo(corpus.get(0).transactions);
+    }
+
+    /**
+     * Generator itself is checked in high precision: NPV at every known root should be zero
+     */
+    @Test
+    public void knownRootsAreRoots() {
+        var irr = new HighPrecisionIRR(EXCEL_GUESS, EXCEL_TOL, EXCEL_ITERATIONS);
+        for (Case c : new CashflowCorpus(SEED).generate(60)) {
+            BigDecimal scale = c.transactions.stream()
+                    .map(t -> valueOf(t.getAmount().getNumber().doubleValueExact()).abs())
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            var npv = irr.getNpvFunc(c.transactions);
+            for (double root : c.knownRoots) {
+                double relativeNpv = npv.apply(valueOf(root)).abs().divide(scale, MathContext.DECIMAL64).doubleValue();
+                assertThat(relativeNpv).as("%s", c).isLessThan(1e-12);
+            }
+        }
+    }
+
+    /**
+     * Double precision should find the only root when there is a single sign change.
+     * Cases are checked against known roots only, see {@link IRRDifferentialBenchmark} for comparison with BigDecimal.
+     */
+    @Test
+    public void primitiveFindsKnownRoots() {
+        Implementation primitive = Implementation.of("IRR", new IRR(EXCEL_GUESS, EXCEL_TOL, EXCEL_ITERATIONS));
+        List<Case> corpus = new CashflowCorpus(SEED).generate(SIZE).stream()
+                .filter(c -> c.shape != Shape.LARGE && c.knownRoots.length > 0)
+                .collect(Collectors.toList());
+
+        var harness = new IRRDifferentialHarness(primitive, MISMATCH_THRESHOLD);
+        Map<Shape, Stats> results = harness.run(corpus, List.of(primitive)).get(primitive.name());
+
+        for (Shape shape : List.of(Shape.CONVENTIONAL, Shape.LONG_HORIZON)) {
+            assertThat(results.get(shape).mismatches).as("%s mismatches", shape).isZero();
+            assertThat(results.get(shape).maxError).as("%s max error", shape).isLessThan(MISMATCH_THRESHOLD);
+        }
+    }
+
+}
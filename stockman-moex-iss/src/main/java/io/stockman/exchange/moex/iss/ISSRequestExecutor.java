@@ -0,0 +1,155 @@
+package io.stockman.exchange.moex.iss;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.net.http.HttpResponse.BodyHandlers.ofString;
+
+/**
+ * Runs lots of small per-security ISS requests (history, coupons, orderbook etc.) concurrently.
+ *
+ * Every request is a plain blocking {@code HttpClient.send} executed in its own task, so the code stays simple
+ * while the number of requests in flight is bounded by a global concurrency limit and a global rate limit.
+ * Tasks run on virtual threads when the runtime provides them (Java 21+), otherwise on a fixed pool
+ * of platform threads sized to the concurrency limit.
+ *
+ * All requests share one {@link HttpClient}, which keeps its own keep-alive connection pool per host.
+ *
+ * See {@code ISSRequestExecutorBenchmark} for comparison with platform threads and async client.
+ */
+public class ISSRequestExecutor implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ISSRequestExecutor.class);
+
+    // ISS does not publish hard limits, these are conservative values that don't get us throttled
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+    public static final int DEFAULT_REQUESTS_PER_SECOND = 20;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String BAD_STATUS_TEMPLATE = "ISS responded with status %s to %s";
+
+    private final Semaphore concurrencyLimit;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    public ISSRequestExecutor() {
+        this(DEFAULT_MAX_CONCURRENCY, DEFAULT_REQUESTS_PER_SECOND);
+    }
+
+    /**
+     * @param maxConcurrency   max number of requests in flight
+     * @param requestsPerSecond max rate of requests, non-positive value disables rate limiting
+     */
+    public ISSRequestExecutor(int maxConcurrency, int requestsPerSecond) {
+        this(maxConcurrency, requestsPerSecond, newTaskExecutor(maxConcurrency));
+    }
+
+    public ISSRequestExecutor(int maxConcurrency, int requestsPerSecond, ExecutorService executor) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit should be positive, provided " + maxConcurrency);
+        }
+        this.concurrencyLimit = new Semaphore(maxConcurrency);
+        this.rateLimiter = new RateLimiter(requestsPerSecond);
+        this.executor = executor;
+    }
+
+    /**
+     * @return response body, or exceptionally completed future if request failed
+     */
+    public CompletableFuture<String> submit(URI uri, ApiTransport transport) {
+        return CompletableFuture.supplyAsync(() -> fetch(uri, transport), executor);
+    }
+
+    /**
+     * Fetches all URIs and waits for completion.
+     *
+     * @return response bodies in the same order as URIs
+     */
+    public List<String> fetchAll(Collection<URI> uris, ApiTransport transport) {
+        var futures = new ArrayList<CompletableFuture<String>>(uris.size());
+        for (URI uri : uris) {
+            futures.add(submit(uri, transport));
+        }
+        var bodies = new ArrayList<String>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            bodies.add(future.join());
+        }
+        return bodies;
+    }
+
+    /**
+     * Simple synchronous blocking request, limited by concurrency and rate limiters
+     */
+    protected String fetch(URI uri, ApiTransport transport) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+        try {
+            // permit first: tasks holding rate limiter slots while waiting for a permit would be sent back to back
+            concurrencyLimit.acquire();
+            try {
+                rateLimiter.acquire();
+                HttpResponse<String> response = client.send(request, ofString(transport.getCharset()));
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(String.format(BAD_STATUS_TEMPLATE, response.statusCode(), uri));
+                }
+                return response.body();
+            } finally {
+                concurrencyLimit.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while requesting " + uri, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Project targets Java 11, so virtual threads are looked up reflectively.
+     */
+    static ExecutorService newTaskExecutor(int maxConcurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual threads are not available on Java {}, using platform threads", Runtime.version());
+            var counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrency, task -> {
+                Thread thread = new Thread(task, "iss-request-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+}
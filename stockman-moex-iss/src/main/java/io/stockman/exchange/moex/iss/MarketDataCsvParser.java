@@ -0,0 +1,117 @@
+package io.stockman.exchange.moex.iss;
+
+import io.stockman.exchange.moex.iss.market.OrderBook;
+import io.stockman.exchange.moex.iss.market.Side;
+import io.stockman.exchange.moex.iss.market.TradeTape;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Fills {@link OrderBook} and {@link TradeTape} from ISS {@link ApiTransport#CSV} responses,
+ * i.e. 'orderbook' block of {@code .../securities/[secid]/orderbook} and 'trades' block of {@code .../securities/[secid]/trades}.
+ *
+ * Blocks are parsed with {@link SecuritiesCsvParser} and schemas of their own, rows of the security are found
+ * with SECID index. Per-security responses include all boards, so rows are filtered by board too.
+ */
+public class MarketDataCsvParser {
+
+    public static final String TRADES_BLOCK = "trades";
+    public static final String ORDERBOOK_BLOCK = "orderbook";
+
+    public static final Set<String> TRADES_NUMBERS = Set.of("PRICE", "QUANTITY", "VALUE", "YIELD", "DECIMALS");
+    public static final Set<String> ORDERBOOK_NUMBERS = Set.of("PRICE", "QUANTITY", "DECIMALS");
+
+    // ISS times are Moscow exchange local time
+    public static final ZoneId EXCHANGE_ZONE = ZoneId.of("Europe/Moscow");
+
+    private static final DateTimeFormatter SYSTIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * @return order book of the security on the board with price scale from DECIMALS column
+     * @throws IllegalArgumentException if there are no orders of the security in response
+     */
+    public static OrderBook orderBook(String body, String secId, String boardId) {
+        SecuritiesTable orders = SecuritiesCsvParser.parse(body, ORDERBOOK_BLOCK, ORDERBOOK_NUMBERS);
+        int row = findRow(orders, secId, boardId);
+        if (row < 0) {
+            throw new IllegalArgumentException("No orders of " + secId + " on " + boardId + " in ISS response");
+        }
+        var book = new OrderBook(secId, (int) orders.getDouble(row, orders.columnIndex("DECIMALS")));
+        fill(book, orders, boardId);
+        return book;
+    }
+
+    /**
+     * Replaces all levels of the book with orders of the same security on the board from response
+     */
+    public static void fill(OrderBook book, String body, String boardId) {
+        fill(book, SecuritiesCsvParser.parse(body, ORDERBOOK_BLOCK, ORDERBOOK_NUMBERS), boardId);
+    }
+
+    /**
+     * Adds trades of the security on the board from response to the tape, trade time is converted to epoch millis.
+     * Trade date is TRADEDATE when response has it, otherwise the date of SYSTIME, the time trade is registered,
+     * a day earlier when SYSTIME has already rolled over midnight.
+     */
+    public static void fill(TradeTape tape, String body, String secId, String boardId) {
+        SecuritiesTable trades = SecuritiesCsvParser.parse(body, TRADES_BLOCK, TRADES_NUMBERS);
+        int tradeDate = trades.columnIndex("TRADEDATE");
+        int tradeTime = trades.columnIndex("TRADETIME");
+        int sysTime = trades.columnIndex("SYSTIME");
+        int price = trades.columnIndex("PRICE");
+        int quantity = trades.columnIndex("QUANTITY");
+        for (int row = findRow(trades, secId, boardId); row >= 0; row = nextRow(trades, row, boardId)) {
+            LocalTime time = LocalTime.parse(trades.getString(row, tradeTime));
+            LocalDate date;
+            if (tradeDate >= 0) {
+                date = LocalDate.parse(trades.getString(row, tradeDate));
+            } else {
+                LocalDateTime registered = LocalDateTime.parse(trades.getString(row, sysTime), SYSTIME_FORMAT);
+                date = registered.toLocalTime().isBefore(time)
+                        ? registered.toLocalDate().minusDays(1)
+                        : registered.toLocalDate();
+            }
+            long millis = date.atTime(time).atZone(EXCHANGE_ZONE).toInstant().toEpochMilli();
+            tape.add(millis, trades.getDouble(row, price), trades.getDouble(row, quantity));
+        }
+    }
+
+    private static void fill(OrderBook book, SecuritiesTable orders, String boardId) {
+        int buySell = orders.columnIndex("BUYSELL");
+        int price = orders.columnIndex("PRICE");
+        int quantity = orders.columnIndex("QUANTITY");
+        book.clear();
+        for (int row = findRow(orders, book.getSecId(), boardId); row >= 0; row = nextRow(orders, row, boardId)) {
+            Side side = Side.of(orders.getString(row, buySell).charAt(0));
+            book.update(side, orders.getDouble(row, price), orders.getDouble(row, quantity));
+        }
+    }
+
+    /**
+     * @return first row of the security on the board, or -1 if none
+     */
+    private static int findRow(SecuritiesTable table, String secId, String boardId) {
+        int row = table.findRow(secId);
+        return row < 0 || isOnBoard(table, row, boardId) ? row : nextRow(table, row, boardId);
+    }
+
+    /**
+     * @return next row of the same security on the board, or -1 if none
+     */
+    private static int nextRow(SecuritiesTable table, int row, String boardId) {
+        do {
+            row = table.nextRow(row);
+        } while (row >= 0 && !isOnBoard(table, row, boardId));
+        return row;
+    }
+
+    private static boolean isOnBoard(SecuritiesTable table, int row, String boardId) {
+        return table.getString(row, table.columnIndex("BOARDID")).equals(boardId);
+    }
+
+}
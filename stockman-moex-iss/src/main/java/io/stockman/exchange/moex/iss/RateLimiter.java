@@ -0,0 +1,43 @@
+package io.stockman.exchange.moex.iss;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Spreads permits evenly over time, i.e. 20 permits per second means one permit every 50 ms.
+ * No bursts are allowed, which is exactly what ISS expects from a well-behaved client.
+ *
+ * Waiting happens outside of the lock, so blocked callers don't hold each other.
+ */
+class RateLimiter {
+
+    private final long intervalNanos;
+
+    // guarded by this
+    private long nextSlot;
+
+    /**
+     * @param permitsPerSecond max rate, non-positive value disables limiting
+     */
+    RateLimiter(int permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? SECONDS.toNanos(1) / permitsPerSecond : 0L;
+        this.nextSlot = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+        if (intervalNanos == 0L) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlot, now);
+            nextSlot = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0L) {
+            NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+}
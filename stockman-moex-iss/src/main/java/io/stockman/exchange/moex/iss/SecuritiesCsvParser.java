@@ -0,0 +1,123 @@
+package io.stockman.exchange.moex.iss;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses securities list in {@link ApiTransport#CSV} form, the most compact one.
+ *
+ * ISS CSV body is a sequence of blocks: block name, empty line, header line, rows, empty line.
+ * Values are separated by ';' and never quoted.
+ *
+ * Column types come from a fixed schema of known numeric columns per block, not from values,
+ * so the same column has the same type in every response, even when it is empty or looks like a code.
+ * Columns not in the schema are text.
+ */
+public class SecuritiesCsvParser {
+
+    public static final String SECURITIES_BLOCK = "securities";
+
+    public static final Set<String> SECURITIES_NUMBERS = Set.of(
+            "PREVWAPRICE", "YIELDATPREVWAPRICE", "COUPONVALUE", "ACCRUEDINT", "PREVPRICE", "LOTSIZE", "FACEVALUE",
+            "DECIMALS", "COUPONPERIOD", "ISSUESIZE", "PREVLEGALCLOSEPRICE", "PREVADMITTEDQUOTE", "MINSTEP",
+            "BUYBACKPRICE", "ISSUESIZEPLACED", "LISTLEVEL", "COUPONPERCENT");
+
+    private static final Map<String, Set<String>> SCHEMA = Map.of(SECURITIES_BLOCK, SECURITIES_NUMBERS);
+
+    private static final char SEPARATOR = ';';
+
+    public static SecuritiesTable parse(String body) {
+        return parse(body, SECURITIES_BLOCK);
+    }
+
+    /**
+     * Parses one of the known blocks, columns of unknown blocks are text
+     */
+    public static SecuritiesTable parse(String body, String block) {
+        return parse(body, block, SCHEMA.getOrDefault(block, Set.of()));
+    }
+
+    /**
+     * @param numericColumns names of columns parsed as numbers, empty values are NaN
+     */
+    public static SecuritiesTable parse(String body, String block, Set<String> numericColumns) {
+        String[] lines = body.split("\r?\n");
+        int line = 0;
+        while (line < lines.length && !lines[line].equals(block)) {
+            line++;
+        }
+        do {
+            line++;
+        } while (line < lines.length && lines[line].isEmpty());
+        if (line >= lines.length) {
+            throw new IllegalArgumentException("Block '" + block + "' not found in ISS response");
+        }
+
+        String[] names = split(lines[line++], 0);
+        var rows = new ArrayList<String[]>();
+        while (line < lines.length && !lines[line].isEmpty()) {
+            rows.add(split(lines[line++], names.length));
+        }
+        return toTable(names, rows, numericColumns);
+    }
+
+    private static SecuritiesTable toTable(String[] names, List<String[]> rows, Set<String> numericColumns) {
+        double[][] numbers = new double[names.length][];
+        int[][] codes = new int[names.length][];
+        String[][] dictionaries = new String[names.length][];
+
+        for (int column = 0; column < names.length; column++) {
+            if (numericColumns.contains(names[column])) {
+                numbers[column] = new double[rows.size()];
+                for (int row = 0; row < rows.size(); row++) {
+                    numbers[column][row] = parseNumber(rows.get(row)[column], names[column], row);
+                }
+            } else {
+                var dictionary = new HashMap<String, Integer>();
+                codes[column] = new int[rows.size()];
+                for (int row = 0; row < rows.size(); row++) {
+                    codes[column][row] = dictionary.computeIfAbsent(rows.get(row)[column], v -> dictionary.size());
+                }
+                dictionaries[column] = new String[dictionary.size()];
+                for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                    dictionaries[column][entry.getValue()] = entry.getKey();
+                }
+            }
+        }
+        return SecuritiesTable.of(rows.size(), names, numbers, codes, dictionaries);
+    }
+
+    private static double parseNumber(String value, String column, int row) {
+        if (value.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Column " + column + " is numeric, provided '" + value + "' in row " + row, e);
+        }
+    }
+
+    /**
+     * @param width expected number of values, missing trailing values are empty; 0 for no expectations
+     */
+    private static String[] split(String line, int width) {
+        var values = new ArrayList<String>(Math.max(width, 16));
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == SEPARATOR) {
+                values.add(line.substring(start, i));
+                start = i + 1;
+            }
+        }
+        values.add(line.substring(start));
+        while (values.size() < width) {
+            values.add("");
+        }
+        return values.toArray(new String[0]);
+    }
+
+}
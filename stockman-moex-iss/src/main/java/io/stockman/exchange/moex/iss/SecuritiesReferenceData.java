@@ -0,0 +1,75 @@
+package io.stockman.exchange.moex.iss;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Securities reference data which is available right after startup.
+ *
+ * Last {@link SecuritiesSnapshot} is served until background refresh completes,
+ * then fresh data replaces it and is written as the next snapshot. Loader is usually something like
+ * <pre>
+ * () -> SecuritiesCsvParser.parse(requestExecutor.submit(BONDS_LIST_URI, ApiTransport.CSV).join())
+ * </pre>
+ */
+public class SecuritiesReferenceData {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SecuritiesReferenceData.class);
+
+    private final Path snapshot;
+    private final Supplier<SecuritiesTable> loader;
+    private final Executor executor;
+
+    private volatile SecuritiesTable table;
+
+    public SecuritiesReferenceData(Path snapshot, Supplier<SecuritiesTable> loader, Executor executor) {
+        this.snapshot = snapshot;
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads last snapshot, if there is one, and starts background refresh.
+     *
+     * @return refresh completion
+     */
+    public CompletableFuture<SecuritiesTable> start() {
+        if (Files.exists(snapshot)) {
+            try {
+                table = SecuritiesSnapshot.read(snapshot);
+            } catch (RuntimeException e) {
+                LOG.warn("Securities snapshot {} is not readable, waiting for refresh", snapshot, e);
+            }
+        }
+        return refresh();
+    }
+
+    public CompletableFuture<SecuritiesTable> refresh() {
+        return CompletableFuture.supplyAsync(() -> {
+            SecuritiesTable fresh = loader.get();
+            table = fresh;
+            try {
+                SecuritiesSnapshot.write(fresh, snapshot);
+            } catch (UncheckedIOException e) {
+                LOG.warn("Securities snapshot {} is not saved", snapshot, e);
+            }
+            return fresh;
+        }, executor);
+    }
+
+    /**
+     * @return latest data, empty until snapshot or the first refresh is loaded
+     */
+    public Optional<SecuritiesTable> get() {
+        return Optional.ofNullable(table);
+    }
+
+}
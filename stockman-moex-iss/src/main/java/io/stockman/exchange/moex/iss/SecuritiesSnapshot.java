@@ -0,0 +1,153 @@
+package io.stockman.exchange.moex.iss;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Compact binary copy of {@link SecuritiesTable}, so a process can start with the last known reference data
+ * instead of downloading and parsing the full securities list.
+ *
+ * Layout, all numbers big-endian:
+ * <pre>
+ * int magic, int version, int rows, int columns
+ * per column: string name, byte type, then
+ *     NUMBER: double[rows]
+ *     TEXT:   int dictionary size, string[dictionary size], int[rows] codes
+ * int index size, int[index size] SECID index, int[rows] same SECID chain
+ * </pre>
+ * where string is int length followed by UTF-8 bytes.
+ *
+ * Snapshot is read in one go into a heap buffer with bulk copies of primitive columns, and the index is stored
+ * ready to use, so nothing is parsed or hashed on startup. It's not memory mapped: columns are copied anyway,
+ * and a mapping stays open until GC, which prevents replacing the file on Windows.
+ */
+public class SecuritiesSnapshot {
+
+    private static final int MAGIC = 0x49535353; // ISSS
+    private static final int VERSION = 1;
+
+    private static final byte NUMBER = 0;
+    private static final byte TEXT = 1;
+
+    /**
+     * Written to temporary file first and then moved, so readers never see partially written snapshot
+     */
+    public static void write(SecuritiesTable table, Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                    writeTable(table, out);
+                }
+                Files.move(tmp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SecuritiesTable read(Path path) {
+        try {
+            return readTable(ByteBuffer.wrap(Files.readAllBytes(path)), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTable(SecuritiesTable table, DataOutputStream out) throws IOException {
+        int rows = table.rowCount();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rows);
+        out.writeInt(table.columnCount());
+        for (int column = 0; column < table.columnCount(); column++) {
+            writeString(table.columnName(column), out);
+            if (table.isNumeric(column)) {
+                out.writeByte(NUMBER);
+                for (double value : table.getNumbers(column)) {
+                    out.writeDouble(value);
+                }
+            } else {
+                out.writeByte(TEXT);
+                String[] dictionary = table.getDictionary(column);
+                out.writeInt(dictionary.length);
+                for (String value : dictionary) {
+                    writeString(value, out);
+                }
+                writeInts(table.getCodes(column), out);
+            }
+        }
+        out.writeInt(table.getIndex().length);
+        writeInts(table.getIndex(), out);
+        writeInts(table.getSameSecId(), out);
+    }
+
+    private static SecuritiesTable readTable(ByteBuffer buffer, Path path) {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("Not a securities snapshot of version " + VERSION + ": " + path);
+        }
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+        String[] names = new String[columns];
+        double[][] numbers = new double[columns][];
+        int[][] codes = new int[columns][];
+        String[][] dictionaries = new String[columns][];
+        for (int column = 0; column < columns; column++) {
+            names[column] = readString(buffer);
+            byte type = buffer.get();
+            if (type == NUMBER) {
+                numbers[column] = new double[rows];
+                buffer.asDoubleBuffer().get(numbers[column]);
+                buffer.position(buffer.position() + rows * Double.BYTES);
+            } else {
+                dictionaries[column] = new String[buffer.getInt()];
+                for (int i = 0; i < dictionaries[column].length; i++) {
+                    dictionaries[column][i] = readString(buffer);
+                }
+                codes[column] = readInts(buffer, rows);
+            }
+        }
+        int[] index = readInts(buffer, buffer.getInt());
+        int[] sameSecId = readInts(buffer, rows);
+        return new SecuritiesTable(rows, names, numbers, codes, dictionaries, index, sameSecId);
+    }
+
+    private static void writeInts(int[] values, DataOutputStream out) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
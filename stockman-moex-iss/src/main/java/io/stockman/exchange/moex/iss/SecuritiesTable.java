@@ -0,0 +1,175 @@
+package io.stockman.exchange.moex.iss;
+
+import java.util.Arrays;
+
+/**
+ * Parsed ISS securities reference data in columnar form.
+ *
+ * Every column is either numeric, stored as primitive doubles (NaN for missing values),
+ * or textual, stored as dictionary codes, as most ISS columns have few distinct values (boards, currencies etc.).
+ *
+ * Rows are found by SECID with open addressing hash index. The same security may be traded on several boards,
+ * so rows with equal SECID are chained, see {@link #nextRow(int)}.
+ */
+public class SecuritiesTable {
+
+    public static final String SECID = "SECID";
+
+    private final int rows;
+    private final String[] names;
+
+    // per column, exactly one of numbers and codes is not null
+    private final double[][] numbers;
+    private final int[][] codes;
+    private final String[][] dictionaries;
+
+    private final int secIdColumn;
+    // row + 1 at SECID hash slot, 0 is empty slot
+    private final int[] index;
+    // next row with the same SECID, -1 if none
+    private final int[] sameSecId;
+
+    SecuritiesTable(int rows, String[] names, double[][] numbers, int[][] codes, String[][] dictionaries,
+                    int[] index, int[] sameSecId) {
+        this.rows = rows;
+        this.names = names;
+        this.numbers = numbers;
+        this.codes = codes;
+        this.dictionaries = dictionaries;
+        this.secIdColumn = secIdColumn(names, dictionaries);
+        this.index = index;
+        this.sameSecId = sameSecId;
+    }
+
+    /**
+     * Builds SECID index for the given columns
+     */
+    static SecuritiesTable of(int rows, String[] names, double[][] numbers, int[][] codes, String[][] dictionaries) {
+        int secIdColumn = secIdColumn(names, dictionaries);
+        int capacity = 2;
+        while (capacity < rows * 2) {
+            capacity <<= 1;
+        }
+        int[] index = new int[capacity];
+        int[] sameSecId = new int[rows];
+        Arrays.fill(sameSecId, -1);
+
+        int[] secIdCodes = codes[secIdColumn];
+        String[] secIds = dictionaries[secIdColumn];
+        // backwards, so chained rows keep their original order
+        for (int row = rows - 1; row >= 0; row--) {
+            int slot = slot(secIds[secIdCodes[row]], capacity);
+            while (index[slot] != 0 && secIdCodes[index[slot] - 1] != secIdCodes[row]) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (index[slot] != 0) {
+                sameSecId[row] = index[slot] - 1;
+            }
+            index[slot] = row + 1;
+        }
+        return new SecuritiesTable(rows, names, numbers, codes, dictionaries, index, sameSecId);
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String columnName(int column) {
+        return names[column];
+    }
+
+    /**
+     * @return column index, or -1 if there is no such column
+     */
+    public int columnIndex(String name) {
+        return Arrays.asList(names).indexOf(name);
+    }
+
+    public boolean isNumeric(int column) {
+        return numbers[column] != null;
+    }
+
+    /**
+     * @return first row of the security, or -1 if not found
+     */
+    public int findRow(String secId) {
+        int[] secIdCodes = codes[secIdColumn];
+        String[] secIds = dictionaries[secIdColumn];
+        int slot = slot(secId, index.length);
+        while (index[slot] != 0) {
+            int row = index[slot] - 1;
+            if (secIds[secIdCodes[row]].equals(secId)) {
+                return row;
+            }
+            slot = (slot + 1) & (index.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @return next row of the same security (i.e. another board), or -1 if none
+     */
+    public int nextRow(int row) {
+        return sameSecId[row];
+    }
+
+    public String getString(int row, int column) {
+        if (dictionaries[column] == null) {
+            throw new IllegalArgumentException("Column " + names[column] + " is numeric");
+        }
+        return dictionaries[column][codes[column][row]];
+    }
+
+    /**
+     * @return value, or NaN if missing
+     */
+    public double getDouble(int row, int column) {
+        if (numbers[column] == null) {
+            throw new IllegalArgumentException("Column " + names[column] + " is not numeric");
+        }
+        return numbers[column][row];
+    }
+
+    String[] getNames() {
+        return names;
+    }
+
+    double[] getNumbers(int column) {
+        return numbers[column];
+    }
+
+    int[] getCodes(int column) {
+        return codes[column];
+    }
+
+    String[] getDictionary(int column) {
+        return dictionaries[column];
+    }
+
+    int[] getIndex() {
+        return index;
+    }
+
+    int[] getSameSecId() {
+        return sameSecId;
+    }
+
+    private static int secIdColumn(String[] names, String[][] dictionaries) {
+        int column = Arrays.asList(names).indexOf(SECID);
+        if (column < 0 || dictionaries[column] == null) {
+            throw new IllegalArgumentException("Securities require text column " + SECID + ", provided " + Arrays.toString(names));
+        }
+        return column;
+    }
+
+    private static int slot(String secId, int capacity) {
+        // String.hashCode() is specified, so the index stays valid when persisted
+        int h = secId.hashCode();
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+}
@@ -0,0 +1,96 @@
+package io.stockman.exchange.moex.iss.market;
+
+/**
+ * One side of {@link OrderBook}: price levels sorted from best to worst in parallel arrays.
+ * Capacity is fixed, so updates never allocate. When full, levels worse than the worst one are dropped.
+ */
+public final class BookSide {
+
+    private final long[] prices;
+    private final double[] quantities;
+    // bids are sorted by descending price, asks by ascending
+    private final boolean descending;
+    private int depth;
+
+    BookSide(int capacity, boolean descending) {
+        this.prices = new long[capacity];
+        this.quantities = new double[capacity];
+        this.descending = descending;
+    }
+
+    /**
+     * @param quantity new level quantity, zero removes the level
+     */
+    void update(long price, double quantity) {
+        int level = find(price);
+        if (level >= 0) {
+            if (quantity > 0d) {
+                quantities[level] = quantity;
+            } else {
+                remove(level);
+            }
+        } else if (quantity > 0d) {
+            insert(-level - 1, price, quantity);
+        }
+    }
+
+    void clear() {
+        depth = 0;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @param level 0 is the best level
+     */
+    public long price(int level) {
+        return prices[level];
+    }
+
+    public double quantity(int level) {
+        return quantities[level];
+    }
+
+    /**
+     * Binary search in side order, result has the same contract as {@link java.util.Arrays#binarySearch(long[], long)}
+     */
+    private int find(long price) {
+        int low = 0;
+        int high = depth - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midPrice = prices[mid];
+            if (midPrice == price) {
+                return mid;
+            } else if (descending ? midPrice > price : midPrice < price) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insert(int level, long price, double quantity) {
+        if (level >= prices.length) {
+            return;
+        }
+        // the worst level falls out when side is full
+        int tail = Math.min(depth, prices.length - 1) - level;
+        System.arraycopy(prices, level, prices, level + 1, tail);
+        System.arraycopy(quantities, level, quantities, level + 1, tail);
+        prices[level] = price;
+        quantities[level] = quantity;
+        depth = Math.min(depth + 1, prices.length);
+    }
+
+    private void remove(int level) {
+        int tail = depth - level - 1;
+        System.arraycopy(prices, level + 1, prices, level, tail);
+        System.arraycopy(quantities, level + 1, quantities, level, tail);
+        depth--;
+    }
+
+}
@@ -0,0 +1,119 @@
+package io.stockman.exchange.moex.iss.market;
+
+/**
+ * Aggregated order book (market depth) of a single security, built from ISS orderbook data.
+ *
+ * Prices are kept as long number of minimal units, i.e. price * 10^decimals where decimals come from ISS
+ * DECIMALS column, so levels are compared exactly. Level updates are incremental and allocation-free.
+ */
+public class OrderBook {
+
+    // ISS gives 10 levels per side, keep some room for incremental feeds
+    public static final int DEFAULT_DEPTH = 20;
+
+    private final String secId;
+    private final double scale;
+    private final BookSide bids;
+    private final BookSide asks;
+
+    public OrderBook(String secId, int decimals) {
+        this(secId, decimals, DEFAULT_DEPTH);
+    }
+
+    public OrderBook(String secId, int decimals, int depth) {
+        this.secId = secId;
+        this.scale = Math.pow(10, decimals);
+        this.bids = new BookSide(depth, true);
+        this.asks = new BookSide(depth, false);
+    }
+
+    /**
+     * @param quantity new level quantity, zero removes the level
+     */
+    public void update(Side side, double price, double quantity) {
+        updateUnits(side, toUnits(price), quantity);
+    }
+
+    /**
+     * Same as {@link #update(Side, double, double)} with price already in minimal units, see {@link #toUnits(double)}
+     */
+    public void updateUnits(Side side, long units, double quantity) {
+        (side == Side.BUY ? bids : asks).update(units, quantity);
+    }
+
+    public void clear() {
+        bids.clear();
+        asks.clear();
+    }
+
+    public String getSecId() {
+        return secId;
+    }
+
+    public BookSide bids() {
+        return bids;
+    }
+
+    public BookSide asks() {
+        return asks;
+    }
+
+    public long toUnits(double price) {
+        return Math.round(price * scale);
+    }
+
+    public double toPrice(long units) {
+        return units / scale;
+    }
+
+    /**
+     * @return best bid, or NaN if there are no bids
+     */
+    public double bestBid() {
+        return bids.depth() > 0 ? toPrice(bids.price(0)) : Double.NaN;
+    }
+
+    /**
+     * @return best ask, or NaN if there are no asks
+     */
+    public double bestAsk() {
+        return asks.depth() > 0 ? toPrice(asks.price(0)) : Double.NaN;
+    }
+
+    public double mid() {
+        return (bestBid() + bestAsk()) / 2d;
+    }
+
+    public double spread() {
+        return bestAsk() - bestBid();
+    }
+
+    /**
+     * Average price of immediate execution of the whole quantity against the book
+     *
+     * @return price, or NaN if book is not deep enough
+     */
+    public double averageFillPrice(Side side, double quantity) {
+        BookSide opposite = side == Side.BUY ? asks : bids;
+        double remaining = quantity;
+        double cost = 0d;
+        for (int level = 0; level < opposite.depth() && remaining > 0d; level++) {
+            double filled = Math.min(remaining, opposite.quantity(level));
+            cost += filled * opposite.price(level);
+            remaining -= filled;
+        }
+        return remaining > 0d ? Double.NaN : cost / quantity / scale;
+    }
+
+    /**
+     * Expected cost of immediate execution relative to mid price, e.g. 0.001 is 10 bp worse than mid
+     *
+     * @return slippage, or NaN if book is not deep enough or one side is empty
+     */
+    public double slippage(Side side, double quantity) {
+        double mid = mid();
+        double fill = averageFillPrice(side, quantity);
+        return side == Side.BUY ? (fill - mid) / mid : (mid - fill) / mid;
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.stockman.exchange.moex.iss.market;
+
+/**
+ * Trade or order direction, ISS encodes it as 'B' and 'S' in BUYSELL column.
+ */
+public enum Side {
+
+    BUY('B'),
+    SELL('S');
+
+    private final char code;
+
+    Side(char code) {
+        this.code = code;
+    }
+
+    public char getCode() {
+        return code;
+    }
+
+    public static Side of(char code) {
+        switch (code) {
+            case 'B':
+                return BUY;
+            case 'S':
+                return SELL;
+            default:
+                throw new IllegalArgumentException("Unknown side '" + code + "'");
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.stockman.exchange.moex.iss.market;
+
+/**
+ * Recent trades of a single security in a ring buffer of parallel arrays, the oldest trades are overwritten.
+ * Trades are expected in time order, as ISS trades are. Nothing is allocated on add or on queries.
+ *
+ * All times, both trade times and query windows, are epoch milliseconds.
+ */
+public class TradeTape {
+
+    private final long[] times;
+    private final double[] prices;
+    private final double[] quantities;
+
+    // next write position
+    private int head;
+    private int size;
+
+    public TradeTape(int capacity) {
+        this.times = new long[capacity];
+        this.prices = new double[capacity];
+        this.quantities = new double[capacity];
+    }
+
+    /**
+     * @param time epoch millis
+     */
+    public void add(long time, double price, double quantity) {
+        times[head] = time;
+        prices[head] = price;
+        quantities[head] = quantity;
+        head = (head + 1) % times.length;
+        size = Math.min(size + 1, times.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Volume weighted average price of trades within [from, to]
+     *
+     * @return price, or NaN if there were no trades
+     */
+    public double vwap(long from, long to) {
+        double value = 0d;
+        double volume = 0d;
+        for (int n = 0; n < size; n++) {
+            int i = newest(n);
+            if (times[i] < from) {
+                break;
+            }
+            if (times[i] <= to) {
+                value += prices[i] * quantities[i];
+                volume += quantities[i];
+            }
+        }
+        return volume > 0d ? value / volume : Double.NaN;
+    }
+
+    /**
+     * Time weighted average price within [from, to], where every trade price lasts until the next trade.
+     * The last trade before the window sets the price at its start; without it the window starts at the first trade.
+     *
+     * @return price, or NaN if there were no trades until the end of window
+     */
+    public double twap(long from, long to) {
+        double weighted = 0d;
+        long duration = 0L;
+        long end = to;
+        double last = Double.NaN;
+        for (int n = 0; n < size; n++) {
+            int i = newest(n);
+            if (times[i] > to) {
+                continue;
+            }
+            long start = Math.max(times[i], from);
+            weighted += prices[i] * (end - start);
+            duration += end - start;
+            end = start;
+            last = prices[i];
+            if (times[i] <= from) {
+                break;
+            }
+        }
+        return duration > 0L ? weighted / duration : last;
+    }
+
+    /**
+     * Execution price compared to market VWAP within [from, to], e.g. 0.001 is 10 bp worse than the market
+     *
+     * @return slippage, or NaN if there were no market trades
+     */
+    public double slippage(Side side, double price, long from, long to) {
+        double vwap = vwap(from, to);
+        return side == Side.BUY ? (price - vwap) / vwap : (vwap - price) / vwap;
+    }
+
+    /**
+     * @param n 0 for the newest trade
+     */
+    private int newest(int n) {
+        return (head - 1 - n + times.length) % times.length;
+    }
+
+}
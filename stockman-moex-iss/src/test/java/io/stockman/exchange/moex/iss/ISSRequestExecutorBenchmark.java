@@ -0,0 +1,120 @@
+package io.stockman.exchange.moex.iss;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static io.stockman.exchange.moex.iss.ApiTransport.CSV;
+import static java.net.http.HttpResponse.BodyHandlers.ofString;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Wall-clock time of a batch of per-security requests against local stub with injected latency.
+ * All variants have the same concurrency limit, so the difference comes from threading model only:
+ * - platform thread pool doing blocking sends
+ * - async client bounded by semaphore
+ * - {@link ISSRequestExecutor}, which uses virtual threads when started on Java 21+
+ *
+ * Thread pools, clients and the executor are created once per trial, so connections are warm
+ * and only request processing is measured. Forks run on the JVM that runs JMH, so to measure
+ * the virtual thread path pass Java 21 to forks:
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main -jvm /path/to/jdk-21/bin/java ISSRequestExecutorBenchmark
+ * mvn verify -Dbenchmark=true -Dbenchmark.jvm=/path/to/jdk-21/bin/java
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ISSRequestExecutorBenchmark {
+
+    private static final int CONCURRENCY = 64;
+
+    @Param({"5000"})
+    private int requests;
+
+    @Param({"20"})
+    private long latencyMillis;
+
+    private LatencyStubServer stub;
+    private HttpClient httpClient;
+    private ExecutorService pool;
+    private ISSRequestExecutor requestExecutor;
+    private List<URI> uris;
+
+    @Setup
+    public void setUp() {
+        stub = new LatencyStubServer(latencyMillis);
+        httpClient = HttpClient.newHttpClient();
+        pool = Executors.newFixedThreadPool(CONCURRENCY);
+        requestExecutor = new ISSRequestExecutor(CONCURRENCY, 0);
+        uris = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            uris.add(stub.uri("/iss/securities/SEC" + i + ".csv"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.close();
+        pool.shutdown();
+        stub.close();
+    }
+
+    @Benchmark
+    public int platformThreads() throws Exception {
+        var futures = new ArrayList<Future<String>>(uris.size());
+        for (URI uri : uris) {
+            futures.add(pool.submit(() -> httpClient.send(request(uri), ofString(CSV.getCharset())).body()));
+        }
+        int length = 0;
+        for (Future<String> future : futures) {
+            length += future.get().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int asyncClient() throws Exception {
+        var limit = new Semaphore(CONCURRENCY);
+        var futures = new ArrayList<CompletableFuture<String>>(uris.size());
+        for (URI uri : uris) {
+            limit.acquire();
+            futures.add(httpClient.sendAsync(request(uri), ofString(CSV.getCharset()))
+                    .thenApply(HttpResponse::body)
+                    .whenComplete((body, e) -> limit.release()));
+        }
+        int length = 0;
+        for (CompletableFuture<String> future : futures) {
+            length += future.join().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int requestExecutor() {
+        int length = 0;
+        for (String body : requestExecutor.fetchAll(uris, CSV)) {
+            length += body.length();
+        }
+        return length;
+    }
+
+    private static HttpRequest request(URI uri) {
+        return HttpRequest.newBuilder().uri(uri).build();
+    }
+
+}
@@ -0,0 +1,99 @@
+package io.stockman.exchange.moex.iss;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.stockman.exchange.moex.iss.ApiTransport.CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ISSRequestExecutorTest {
+
+    private LatencyStubServer stub;
+
+    @Before
+    public void startStub() {
+        stub = new LatencyStubServer(5);
+    }
+
+    @After
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    public void fetchAllKeepsOrder() {
+        var uris = new ArrayList<URI>();
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            uris.add(stub.uri("/securities/" + i + ".csv"));
+            expected.add("/securities/" + i + ".csv");
+        }
+        try (var executor = new ISSRequestExecutor(16, 0)) {
+            assertThat(executor.fetchAll(uris, CSV)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void concurrencyLimited() {
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            uris.add(stub.uri("/securities/" + i + ".csv"));
+        }
+        try (var executor = new ISSRequestExecutor(4, 0)) {
+            executor.fetchAll(uris, CSV);
+        }
+        assertThat(stub.getMaxInFlight()).isBetween(1, 4);
+    }
+
+    @Test
+    public void rateLimited() {
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            uris.add(stub.uri("/securities/" + i + ".csv"));
+        }
+        long start = System.nanoTime();
+        try (var executor = new ISSRequestExecutor(16, 50)) {
+            executor.fetchAll(uris, CSV);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 11 requests at 50 per second are spread over at least 10 intervals of 20 ms
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    public void rateLimitedAfterStall() {
+        List<URI> uris = new ArrayList<>();
+        uris.add(stub.uri("/stall/0.csv"));
+        for (int i = 1; i < 30; i++) {
+            uris.add(stub.uri("/securities/" + i + ".csv"));
+        }
+        // unbounded pool, like virtual threads: every task is started right away and waits in limiters
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try (var executor = new ISSRequestExecutor(1, 10, pool)) {
+            executor.fetchAll(uris, CSV);
+        }
+
+        // queued requests are not sent back to back when the stalled one completes, +1 for timing jitter
+        assertThat(stub.getMaxRequestsPerSecond()).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    public void badStatusFailsRequest() {
+        try (var executor = new ISSRequestExecutor()) {
+            assertThatThrownBy(() -> executor.submit(stub.uri("/error/index.csv"), CSV).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+}
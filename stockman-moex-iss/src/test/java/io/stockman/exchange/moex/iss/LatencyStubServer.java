@@ -0,0 +1,98 @@
+package io.stockman.exchange.moex.iss;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Local ISS stand-in which answers every request after a fixed delay, imitating network latency.
+ * Response body is the request path, paths starting with /error/ get status 500,
+ * paths starting with /stall/ are answered after additional {@link #STALL_MILLIS}.
+ */
+class LatencyStubServer implements AutoCloseable {
+
+    static final long STALL_MILLIS = 1_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // request arrival times, nanos
+    private final Queue<Long> arrivals = new ConcurrentLinkedQueue<>();
+
+    LatencyStubServer(long latencyMillis) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            arrivals.add(System.nanoTime());
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                String path = exchange.getRequestURI().getPath();
+                Thread.sleep(path.startsWith("/stall/") ? latencyMillis + STALL_MILLIS : latencyMillis);
+                byte[] body = path.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(path.startsWith("/error/") ? 500 : 200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    URI uri(String path) {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + path);
+    }
+
+    /**
+     * @return max number of requests received within any window shorter than a second
+     */
+    int getMaxRequestsPerSecond() {
+        long[] times = arrivals.stream().mapToLong(Long::longValue).sorted().toArray();
+        int max = 0;
+        int first = 0;
+        for (int last = 0; last < times.length; last++) {
+            while (times[last] - times[first] >= SECONDS.toNanos(1)) {
+                first++;
+            }
+            max = Math.max(max, last - first + 1);
+        }
+        return max;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.stockman.exchange.moex.iss;
+
+import io.stockman.exchange.moex.iss.market.OrderBook;
+import io.stockman.exchange.moex.iss.market.Side;
+import io.stockman.exchange.moex.iss.market.TradeTape;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static io.stockman.exchange.moex.iss.MarketDataCsvParser.EXCHANGE_ZONE;
+import static io.stockman.exchange.moex.iss.SecuritiesCsvParserTest.resource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class MarketDataCsvParserTest {
+
+    private static final double TOL = 1e-9;
+    private static final String TRADES = "/iss/engines/stock/markets/bonds/securities/SU26205RMFS3/trades.csv";
+    private static final String ORDERBOOK = "orderbook\n\n"
+            + "BOARDID;SECID;BUYSELL;PRICE;QUANTITY;SEQNUM;UPDATETIME;DECIMALS\n"
+            + "TQOB;SU26205RMFS3;S;102.2;10;20180614101449;10:14:49;4\n"
+            + "TQOB;SU26205RMFS3;S;102.1;20;20180614101449;10:14:49;4\n"
+            + "TQOB;SU26205RMFS3;B;102.0975;30;20180614101449;10:14:49;4\n"
+            + "TQOB;SU26205RMFS3;B;102.09;40;20180614101449;10:14:49;4\n"
+            + "PSOB;SU26205RMFS3;S;101.5;1000;20180614101449;10:14:49;4\n"
+            + "\n";
+    private static final String TRADES_HEADER = "trades\n\n"
+            + "TRADENO;TRADETIME;BOARDID;SECID;PRICE;QUANTITY;VALUE;PERIOD;YIELD;TRADETIME_GRP;SYSTIME;BUYSELL;DECIMALS\n";
+
+    @Test
+    public void orderBook() {
+        OrderBook book = MarketDataCsvParser.orderBook(ORDERBOOK, "SU26205RMFS3", "TQOB");
+
+        assertThat(book.getSecId()).isEqualTo("SU26205RMFS3");
+        assertThat(book.bids().depth()).isEqualTo(2);
+        assertThat(book.asks().depth()).isEqualTo(2);
+        assertThat(book.bestBid()).isCloseTo(102.0975, offset(TOL));
+        assertThat(book.bestAsk()).isCloseTo(102.1, offset(TOL));
+        assertThat(book.toUnits(book.bestBid())).isEqualTo(1_020_975L);
+    }
+
+    @Test
+    public void fillReplacesLevels() {
+        var book = new OrderBook("SU26205RMFS3", 4);
+        book.update(Side.SELL, 105d, 1);
+
+        MarketDataCsvParser.fill(book, ORDERBOOK, "TQOB");
+
+        assertThat(book.asks().depth()).isEqualTo(2);
+        assertThat(book.bestAsk()).isCloseTo(102.1, offset(TOL));
+    }
+
+    @Test
+    public void orderBookOfAnotherBoard() {
+        OrderBook book = MarketDataCsvParser.orderBook(ORDERBOOK, "SU26205RMFS3", "PSOB");
+
+        assertThat(book.bids().depth()).isZero();
+        assertThat(book.asks().depth()).isEqualTo(1);
+        assertThat(book.bestAsk()).isCloseTo(101.5, offset(TOL));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void orderBookOfUnknownSecurity() {
+        MarketDataCsvParser.orderBook(ORDERBOOK, "NOTEXISTS", "TQOB");
+    }
+
+    @Test
+    public void trades() throws IOException {
+        String body = resource(TRADES);
+        SecuritiesTable trades = SecuritiesCsvParser.parse(body, MarketDataCsvParser.TRADES_BLOCK,
+                MarketDataCsvParser.TRADES_NUMBERS);
+        int price = trades.columnIndex("PRICE");
+        int quantity = trades.columnIndex("QUANTITY");
+        double value = 0d;
+        double volume = 0d;
+        for (int row = 0; row < trades.rowCount(); row++) {
+            value += trades.getDouble(row, price) * trades.getDouble(row, quantity);
+            volume += trades.getDouble(row, quantity);
+        }
+
+        var tape = new TradeTape(trades.rowCount());
+        MarketDataCsvParser.fill(tape, body, "SU26205RMFS3", "TQOB");
+
+        long dayStart = LocalDate.parse("2018-06-14").atStartOfDay(EXCHANGE_ZONE).toInstant().toEpochMilli();
+        long dayEnd = LocalDate.parse("2018-06-15").atStartOfDay(EXCHANGE_ZONE).toInstant().toEpochMilli() - 1;
+        long firstTrade = LocalDateTime.parse("2018-06-14T10:14:48").atZone(EXCHANGE_ZONE).toInstant().toEpochMilli();
+        assertThat(tape.size()).isEqualTo(trades.rowCount());
+        assertThat(tape.vwap(dayStart, dayEnd)).isCloseTo(value / volume, offset(TOL));
+        assertThat(tape.vwap(dayStart, firstTrade)).isCloseTo((102.097 * 20 + 102.098 * 20 + 102.1 * 10) / 50, offset(TOL));
+        assertThat(tape.twap(dayStart, dayEnd)).isBetween(101d, 103d);
+    }
+
+    @Test
+    public void tradesOfAnotherBoardAreSkipped() {
+        String body = TRADES_HEADER
+                + "1;10:14:48;TQOB;SU26205RMFS3;102;10;10200;N;6.88;1014;2018-06-14 10:14:49;B;4\n"
+                + "2;10:15:00;PSOB;SU26205RMFS3;90;1000;90000;N;8.5;1015;2018-06-14 10:15:01;S;4\n"
+                + "3;10:16:00;TQOB;SU26205RMFS4;50;10;500;N;6.88;1016;2018-06-14 10:16:01;B;4\n"
+                + "\n";
+        var tape = new TradeTape(10);
+
+        MarketDataCsvParser.fill(tape, body, "SU26205RMFS3", "TQOB");
+
+        assertThat(tape.size()).isEqualTo(1);
+        assertThat(tape.vwap(Long.MIN_VALUE, Long.MAX_VALUE)).isCloseTo(102d, offset(TOL));
+    }
+
+    @Test
+    public void tradeBeforeMidnightRegisteredAfterIt() {
+        String body = TRADES_HEADER
+                + "1;23:59:59;TQOB;SU26205RMFS3;102;10;10200;N;6.88;2359;2018-06-15 00:00:01;B;4\n"
+                + "\n";
+        var tape = new TradeTape(10);
+
+        MarketDataCsvParser.fill(tape, body, "SU26205RMFS3", "TQOB");
+
+        long time = LocalDateTime.parse("2018-06-14T23:59:59").atZone(EXCHANGE_ZONE).toInstant().toEpochMilli();
+        assertThat(tape.vwap(time, time)).isCloseTo(102d, offset(TOL));
+    }
+
+    @Test
+    public void tradeDateIsPreferred() {
+        String body = "trades\n\n"
+                + "TRADENO;TRADEDATE;TRADETIME;BOARDID;SECID;PRICE;QUANTITY\n"
+                + "1;2018-06-14;10:14:48;TQOB;SU26205RMFS3;102;10\n"
+                + "\n";
+        var tape = new TradeTape(10);
+
+        MarketDataCsvParser.fill(tape, body, "SU26205RMFS3", "TQOB");
+
+        long time = LocalDateTime.parse("2018-06-14T10:14:48").atZone(EXCHANGE_ZONE).toInstant().toEpochMilli();
+        assertThat(tape.vwap(time, time)).isCloseTo(102d, offset(TOL));
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.stockman.exchange.moex.iss;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import static io.stockman.exchange.moex.iss.ApiTransport.CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecuritiesCsvParserTest {
+
+    static final String BONDS_LIST = "/iss/engines/stock/markets/bonds/securities.csv";
+
+    static String resource(String path) throws IOException {
+        try (InputStream in = SecuritiesCsvParserTest.class.getResourceAsStream(path)) {
+            return new String(in.readAllBytes(), CSV.getCharset());
+        }
+    }
+
+    @Test
+    public void parseBondsList() throws IOException {
+        SecuritiesTable table = SecuritiesCsvParser.parse(resource(BONDS_LIST));
+
+        assertThat(table.rowCount()).isEqualTo(1497);
+        assertThat(table.columnCount()).isEqualTo(39);
+
+        int row = table.findRow("SU26205RMFS3");
+        assertThat(row).isNotNegative();
+        assertThat(table.getString(row, table.columnIndex("ISIN"))).isEqualTo("RU000A0JREQ7");
+        assertThat(table.getDouble(row, table.columnIndex("FACEVALUE"))).isEqualTo(1000d);
+        assertThat(table.getString(row, table.columnIndex("MATDATE"))).isEqualTo("2021-04-14");
+    }
+
+    @Test
+    public void columnTypes() throws IOException {
+        SecuritiesTable table = SecuritiesCsvParser.parse(resource(BONDS_LIST));
+
+        assertThat(table.isNumeric(table.columnIndex("SECID"))).isFalse();
+        assertThat(table.isNumeric(table.columnIndex("BOARDID"))).isFalse();
+        assertThat(table.isNumeric(table.columnIndex("PREVWAPRICE"))).isTrue();
+        assertThat(table.isNumeric(table.columnIndex("COUPONPERCENT"))).isTrue();
+        assertThat(table.isNumeric(table.columnIndex("SECTYPE"))).isFalse();
+    }
+
+    @Test
+    public void columnTypesDontDependOnValues() {
+        // FACEVALUE is empty and REGNUMBER looks like a number in this response
+        SecuritiesTable table = SecuritiesCsvParser.parse(
+                "securities\n\nSECID;FACEVALUE;REGNUMBER\nSU26205RMFS3;;26205\n\n");
+
+        assertThat(table.isNumeric(table.columnIndex("FACEVALUE"))).isTrue();
+        assertThat(table.getDouble(0, table.columnIndex("FACEVALUE"))).isNaN();
+        assertThat(table.isNumeric(table.columnIndex("REGNUMBER"))).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notNumberInNumericColumn() {
+        SecuritiesCsvParser.parse("securities\n\nSECID;FACEVALUE\nSU26205RMFS3;n/a\n\n");
+    }
+
+    @Test
+    public void securityOnSeveralBoards() throws IOException {
+        SecuritiesTable table = SecuritiesCsvParser.parse(resource(BONDS_LIST));
+        int boardColumn = table.columnIndex("BOARDID");
+
+        var boards = new ArrayList<String>();
+        for (int row = table.findRow("SU26205RMFS3"); row >= 0; row = table.nextRow(row)) {
+            assertThat(table.getString(row, table.columnIndex(SecuritiesTable.SECID))).isEqualTo("SU26205RMFS3");
+            boards.add(table.getString(row, boardColumn));
+        }
+        assertThat(boards).startsWith("SPOB", "TQDB").doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void unknownSecurity() throws IOException {
+        SecuritiesTable table = SecuritiesCsvParser.parse(resource(BONDS_LIST));
+
+        assertThat(table.findRow("NOTEXISTS")).isEqualTo(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blockNotFound() throws IOException {
+        SecuritiesCsvParser.parse(resource(BONDS_LIST), "history");
+    }
+
+}
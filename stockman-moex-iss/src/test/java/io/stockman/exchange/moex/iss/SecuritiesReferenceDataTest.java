@@ -0,0 +1,81 @@
+package io.stockman.exchange.moex.iss;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.stockman.exchange.moex.iss.SecuritiesCsvParserTest.BONDS_LIST;
+import static io.stockman.exchange.moex.iss.SecuritiesCsvParserTest.resource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecuritiesReferenceDataTest {
+
+    private static final String SMALL_LIST = "securities\n\nSECID;BOARDID;FACEVALUE\nSU26205RMFS3;TQOB;1000\n\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void servesSnapshotWhileRefreshing() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("bonds.snapshot");
+        SecuritiesSnapshot.write(SecuritiesCsvParser.parse(resource(BONDS_LIST)), path);
+
+        var refreshAllowed = new CountDownLatch(1);
+        var referenceData = new SecuritiesReferenceData(path, () -> {
+            await(refreshAllowed);
+            return SecuritiesCsvParser.parse(SMALL_LIST);
+        }, executor);
+
+        var refresh = referenceData.start();
+        assertThat(referenceData.get()).hasValueSatisfying(table -> assertThat(table.rowCount()).isEqualTo(1497));
+
+        refreshAllowed.countDown();
+        refresh.join();
+        assertThat(referenceData.get()).hasValueSatisfying(table -> assertThat(table.rowCount()).isEqualTo(1));
+        assertThat(SecuritiesSnapshot.read(path).rowCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void emptyUntilFirstRefresh() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("bonds.snapshot");
+        Files.writeString(path, "broken");
+
+        var refreshAllowed = new CountDownLatch(1);
+        var referenceData = new SecuritiesReferenceData(path, () -> {
+            await(refreshAllowed);
+            return SecuritiesCsvParser.parse(SMALL_LIST);
+        }, executor);
+
+        var refresh = referenceData.start();
+        assertThat(referenceData.get()).isEmpty();
+
+        refreshAllowed.countDown();
+        refresh.join();
+        assertThat(referenceData.get()).isPresent();
+        assertThat(SecuritiesSnapshot.read(path).findRow("SU26205RMFS3")).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.stockman.exchange.moex.iss;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.stockman.exchange.moex.iss.SecuritiesCsvParserTest.BONDS_LIST;
+import static io.stockman.exchange.moex.iss.SecuritiesCsvParserTest.resource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SecuritiesSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writeAndRead() throws IOException {
+        SecuritiesTable original = SecuritiesCsvParser.parse(resource(BONDS_LIST));
+        Path path = folder.getRoot().toPath().resolve("bonds.snapshot");
+
+        SecuritiesSnapshot.write(original, path);
+        SecuritiesTable restored = SecuritiesSnapshot.read(path);
+
+        assertThat(restored.rowCount()).isEqualTo(original.rowCount());
+        assertThat(restored.columnCount()).isEqualTo(original.columnCount());
+        for (int column = 0; column < original.columnCount(); column++) {
+            assertThat(restored.columnName(column)).isEqualTo(original.columnName(column));
+            assertThat(restored.isNumeric(column)).isEqualTo(original.isNumeric(column));
+            for (int row = 0; row < original.rowCount(); row++) {
+                if (original.isNumeric(column)) {
+                    assertThat(restored.getDouble(row, column)).isEqualTo(original.getDouble(row, column));
+                } else {
+                    assertThat(restored.getString(row, column)).isEqualTo(original.getString(row, column));
+                }
+            }
+        }
+        assertThat(restored.findRow("SU26205RMFS3")).isEqualTo(original.findRow("SU26205RMFS3"));
+        assertThat(restored.nextRow(restored.findRow("SU26205RMFS3")))
+                .isEqualTo(original.nextRow(original.findRow("SU26205RMFS3")));
+    }
+
+    @Test
+    public void snapshotIsCompact() throws IOException {
+        String body = resource(BONDS_LIST);
+        Path path = folder.getRoot().toPath().resolve("bonds.snapshot");
+
+        SecuritiesSnapshot.write(SecuritiesCsvParser.parse(body), path);
+
+        assertThat(Files.size(path)).isLessThan(body.length());
+    }
+
+    @Test
+    public void failedWriteLeavesNoTemporaryFile() throws IOException {
+        // moving over non-empty directory fails
+        Path path = folder.newFolder("bonds.snapshot").toPath();
+        Files.createFile(path.resolve("occupied"));
+
+        assertThatThrownBy(() -> SecuritiesSnapshot.write(SecuritiesCsvParser.parse(resource(BONDS_LIST)), path))
+                .isInstanceOf(UncheckedIOException.class);
+        try (var files = Files.list(folder.getRoot().toPath())) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readNotSnapshot() throws IOException {
+        Path path = folder.newFile("securities.csv").toPath();
+        Files.writeString(path, resource(BONDS_LIST));
+
+        SecuritiesSnapshot.read(path);
+    }
+
+}
@@ -0,0 +1,86 @@
+package io.stockman.exchange.moex.iss.market;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Order book update throughput and query latency on random level updates around the mid price.
+ * Run with -prof gc to check that nothing is allocated.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final int UPDATES = 1 << 16;
+    private static final int MASK = UPDATES - 1;
+    private static final long MID = 102_000L;
+
+    private final OrderBook book = new OrderBook("SU26205RMFS3", 3);
+    private final TradeTape tape = new TradeTape(UPDATES);
+
+    private final Side[] sides = new Side[UPDATES];
+    private final long[] prices = new long[UPDATES];
+    private final double[] quantities = new double[UPDATES];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        for (int i = 0; i < UPDATES; i++) {
+            sides[i] = random.nextBoolean() ? Side.BUY : Side.SELL;
+            // bids below mid, asks above, 5 levels out of 30 get removed
+            long distance = 1 + random.nextInt(30);
+            prices[i] = sides[i] == Side.BUY ? MID - distance : MID + distance;
+            quantities[i] = random.nextInt(6) == 0 ? 0d : 1 + random.nextInt(1000);
+        }
+        for (int i = 0; i < UPDATES; i++) {
+            book.updateUnits(sides[i], prices[i], quantities[i]);
+            tape.add(i * 100L, book.toPrice(prices[i]), 1 + quantities[i]);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public void update() {
+        int i = cursor++ & MASK;
+        book.updateUnits(sides[i], prices[i], quantities[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(NANOSECONDS)
+    public double mid() {
+        return book.mid();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(NANOSECONDS)
+    public double slippage() {
+        return book.slippage(Side.BUY, 2_000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(NANOSECONDS)
+    public double vwapLastMinute() {
+        long now = (UPDATES - 1) * 100L;
+        return tape.vwap(now - 60_000L, now);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(NANOSECONDS)
+    public double twapLastMinute() {
+        long now = (UPDATES - 1) * 100L;
+        return tape.twap(now - 60_000L, now);
+    }
+
+}
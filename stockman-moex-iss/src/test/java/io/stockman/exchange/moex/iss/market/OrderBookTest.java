@@ -0,0 +1,94 @@
+package io.stockman.exchange.moex.iss.market;
+
+import org.junit.Test;
+
+import static io.stockman.exchange.moex.iss.market.Side.BUY;
+import static io.stockman.exchange.moex.iss.market.Side.SELL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class OrderBookTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    public void levelsAreSorted() {
+        var book = new OrderBook("SU26205RMFS3", 3);
+        book.update(BUY, 101.9, 10);
+        book.update(BUY, 102.0, 20);
+        book.update(BUY, 101.95, 30);
+        book.update(SELL, 102.2, 10);
+        book.update(SELL, 102.1, 20);
+
+        assertThat(book.bids().depth()).isEqualTo(3);
+        assertThat(book.bids().price(0)).isEqualTo(102_000L);
+        assertThat(book.bids().price(1)).isEqualTo(101_950L);
+        assertThat(book.bids().price(2)).isEqualTo(101_900L);
+        assertThat(book.asks().price(0)).isEqualTo(102_100L);
+        assertThat(book.bestBid()).isCloseTo(102.0, offset(TOL));
+        assertThat(book.bestAsk()).isCloseTo(102.1, offset(TOL));
+        assertThat(book.mid()).isCloseTo(102.05, offset(TOL));
+        assertThat(book.spread()).isCloseTo(0.1, offset(TOL));
+    }
+
+    @Test
+    public void updateAndRemoveLevel() {
+        var book = new OrderBook("SU26205RMFS3", 3);
+        book.update(BUY, 102.0, 20);
+        book.update(BUY, 101.9, 10);
+
+        book.update(BUY, 102.0, 5);
+        assertThat(book.bids().quantity(0)).isEqualTo(5);
+
+        book.update(BUY, 102.0, 0);
+        assertThat(book.bids().depth()).isEqualTo(1);
+        assertThat(book.bestBid()).isCloseTo(101.9, offset(TOL));
+
+        // removal of a missing level is a no-op
+        book.update(BUY, 100.0, 0);
+        assertThat(book.bids().depth()).isEqualTo(1);
+    }
+
+    @Test
+    public void fullSideDropsWorstLevel() {
+        var book = new OrderBook("SU26205RMFS3", 0, 3);
+        book.updateUnits(SELL, 10L, 1);
+        book.updateUnits(SELL, 11L, 1);
+        book.updateUnits(SELL, 12L, 1);
+
+        book.updateUnits(SELL, 13L, 1);
+        assertThat(book.asks().depth()).isEqualTo(3);
+        assertThat(book.asks().price(2)).isEqualTo(12L);
+
+        book.updateUnits(SELL, 9L, 1);
+        assertThat(book.asks().depth()).isEqualTo(3);
+        assertThat(book.asks().price(0)).isEqualTo(9L);
+        assertThat(book.asks().price(2)).isEqualTo(11L);
+    }
+
+    @Test
+    public void averageFillPriceAndSlippage() {
+        var book = new OrderBook("SU26205RMFS3", 2);
+        book.update(BUY, 99.0, 100);
+        book.update(SELL, 101.0, 10);
+        book.update(SELL, 102.0, 30);
+
+        // 10 @ 101 + 10 @ 102
+        assertThat(book.averageFillPrice(BUY, 20)).isCloseTo(101.5, offset(TOL));
+        assertThat(book.slippage(BUY, 20)).isCloseTo(0.015, offset(TOL));
+        assertThat(book.averageFillPrice(SELL, 50)).isCloseTo(99.0, offset(TOL));
+        assertThat(book.slippage(SELL, 50)).isCloseTo(0.01, offset(TOL));
+
+        assertThat(book.averageFillPrice(BUY, 41)).isNaN();
+    }
+
+    @Test
+    public void emptyBook() {
+        var book = new OrderBook("SU26205RMFS3", 2);
+
+        assertThat(book.bestBid()).isNaN();
+        assertThat(book.mid()).isNaN();
+        assertThat(book.slippage(BUY, 1)).isNaN();
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.stockman.exchange.moex.iss.market;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class TradeTapeTest {
+
+    private static final double TOL = 1e-9;
+
+    @Test
+    public void vwap() {
+        var tape = new TradeTape(10);
+        tape.add(1_000, 100d, 10);
+        tape.add(2_000, 101d, 30);
+        tape.add(3_000, 103d, 10);
+
+        assertThat(tape.vwap(0, 5_000)).isCloseTo((1000d + 3030d + 1030d) / 50d, offset(TOL));
+        assertThat(tape.vwap(2_000, 2_000)).isCloseTo(101d, offset(TOL));
+        assertThat(tape.vwap(4_000, 5_000)).isNaN();
+    }
+
+    @Test
+    public void twap() {
+        var tape = new TradeTape(10);
+        tape.add(1_000, 100d, 10);
+        tape.add(2_000, 101d, 30);
+        tape.add(3_000, 103d, 10);
+
+        // 100 for 1s, 101 for 1s, 103 for 2s
+        assertThat(tape.twap(1_000, 5_000)).isCloseTo((100d + 101d + 103d * 2) / 4d, offset(TOL));
+        // 100 before the window is in effect at its start
+        assertThat(tape.twap(1_500, 2_500)).isCloseTo((100d + 101d) / 2d, offset(TOL));
+        assertThat(tape.twap(0, 500)).isNaN();
+    }
+
+    @Test
+    public void oldTradesAreOverwritten() {
+        var tape = new TradeTape(2);
+        tape.add(1_000, 100d, 10);
+        tape.add(2_000, 101d, 10);
+        tape.add(3_000, 102d, 10);
+
+        assertThat(tape.size()).isEqualTo(2);
+        assertThat(tape.vwap(0, 5_000)).isCloseTo(101.5, offset(TOL));
+    }
+
+    @Test
+    public void slippage() {
+        var tape = new TradeTape(10);
+        tape.add(1_000, 100d, 10);
+        tape.add(2_000, 102d, 10);
+
+        assertThat(tape.slippage(Side.BUY, 101.101, 0, 5_000)).isCloseTo(0.001, offset(TOL));
+        assertThat(tape.slippage(Side.SELL, 101.101, 0, 5_000)).isCloseTo(-0.001, offset(TOL));
+    }
+
+}
@@ -0,0 +1,23 @@
+package io.stockman;
+
+import io.stockman.math.IRR;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Analytics beans are lazy, so short batch runs pay only for what they actually use.
+ */
+@Lazy
+@Configuration
+public class AnalyticsConfiguration {
+
+	@Bean
+	public IRR irr(@Value("${stockman.irr.guess}") double guess,
+				   @Value("${stockman.irr.tolerance}") double tolerance,
+				   @Value("${stockman.irr.iterations}") int iterations) {
+		return new IRR(guess, tolerance, iterations);
+	}
+
+}
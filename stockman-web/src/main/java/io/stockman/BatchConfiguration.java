@@ -0,0 +1,22 @@
+package io.stockman;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+
+/**
+ * Batch mode context: only analytics and commands, no auto-configuration and no component scanning,
+ * so startup doesn't pay for condition evaluation and classpath scan.
+ */
+@Configuration
+@Import({AnalyticsConfiguration.class, IrrCommand.class})
+public class BatchConfiguration {
+
+	// normally registered by auto-configuration, required for @Value placeholders
+	@Bean
+	public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+		return new PropertySourcesPlaceholderConfigurer();
+	}
+
+}
@@ -0,0 +1,78 @@
+package io.stockman;
+
+import io.stockman.domain.Transaction;
+import io.stockman.math.IRR;
+import org.javamoney.moneta.FastMoney;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Computes IRR of a cashflow given in command line and prints it to stdout, e.g.
+ * {@code --batch --irr=2008-01-01:-10000,2008-03-01:2750,2008-10-30:4250 --currency=USD}
+ *
+ * Does nothing when there is no 'irr' option.
+ */
+@Component
+public class IrrCommand implements ApplicationRunner {
+
+	static final String IRR_OPTION = "irr";
+	static final String CURRENCY_OPTION = "currency";
+	static final String DEFAULT_CURRENCY = "RUB";
+
+	// example of Excel's XIRR(), IRR is 0.373362535; '--irr=sample' is the AppCDS training run in 'appcds' profile
+	static final String SAMPLE = "sample";
+	static final String SAMPLE_CASHFLOW =
+			"2008-01-01:-10000,2008-03-01:2750,2008-10-30:4250,2009-02-15:3250,2009-04-01:2750";
+
+	// IRR bean is lazy, so don't create it unless requested
+	private final ObjectProvider<IRR> irr;
+
+	public IrrCommand(ObjectProvider<IRR> irr) {
+		this.irr = irr;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!args.containsOption(IRR_OPTION)) {
+			return;
+		}
+		List<String> currencies = args.getOptionValues(CURRENCY_OPTION);
+		String currency = currencies == null || currencies.isEmpty() ? DEFAULT_CURRENCY : currencies.get(0);
+		for (String cashflow : args.getOptionValues(IRR_OPTION)) {
+			OptionalDouble result = irr.getObject().compute(parseCashflow(cashflowOf(cashflow), currency));
+			System.out.println(result.isPresent() ? String.valueOf(result.getAsDouble()) : "IRR not found");
+		}
+	}
+
+	/**
+	 * @return cashflow of 'irr' option value, which is either cashflow itself or 'sample'
+	 */
+	static String cashflowOf(String option) {
+		return SAMPLE.equals(option) ? SAMPLE_CASHFLOW : option;
+	}
+
+	/**
+	 * @param cashflow comma separated 'date:amount' pairs, dates in ISO format
+	 */
+	static List<Transaction> parseCashflow(String cashflow, String currency) {
+		var transactions = new ArrayList<Transaction>();
+		for (String item : cashflow.split(",")) {
+			int separator = item.indexOf(':');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Expected 'date:amount' pair, provided '" + item + "'");
+			}
+			LocalDate date = LocalDate.parse(item.substring(0, separator).trim());
+			double amount = Double.parseDouble(item.substring(separator + 1).trim());
+			transactions.add(new Transaction(FastMoney.of(amount, currency), date));
+		}
+		return transactions;
+	}
+
+}
@@ -1,12 +1,36 @@
 package io.stockman;
 
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.Arrays;
 
 @SpringBootApplication
 public class StockmanParentApplication {
 
+	static final String BATCH_MODE_ARG = "--batch";
+
 	public static void main(String[] args) {
-		SpringApplication.run(StockmanParentApplication.class, args);
+		if (Arrays.asList(args).contains(BATCH_MODE_ARG)) {
+			System.exit(SpringApplication.exit(batchApplication().run(args)));
+		} else {
+			SpringApplication.run(StockmanParentApplication.class, args);
+		}
+	}
+
+	/**
+	 * Short-lived CLI mode: context of {@link BatchConfiguration} only, no web stack, no banner, no JMX,
+	 * analytics beans are lazy. See {@code StartupTimeBenchmark} and 'appcds' profile for further startup tuning.
+	 */
+	static SpringApplication batchApplication() {
+		return new SpringApplicationBuilder(BatchConfiguration.class)
+				.web(WebApplicationType.NONE)
+				.bannerMode(Banner.Mode.OFF)
+				.logStartupInfo(false)
+				.properties("spring.jmx.enabled=false")
+				.build();
 	}
 }
@@ -0,0 +1,64 @@
+package io.stockman;
+
+import io.stockman.math.IRR;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class BatchModeTests {
+
+	private ConfigurableApplicationContext context;
+
+	@After
+	public void closeContext() {
+		if (context != null) {
+			context.close();
+		}
+	}
+
+	@Test
+	public void analyticsBeansAreLazy() {
+		context = StockmanParentApplication.batchApplication().run(StockmanParentApplication.BATCH_MODE_ARG);
+
+		assertThat(context).isExactlyInstanceOf(AnnotationConfigApplicationContext.class);
+		assertThat(context.getBeanNamesForType(StockmanParentApplication.class)).isEmpty();
+		assertThat(context.getBeanFactory().containsSingleton("irr")).isFalse();
+		assertThat(context.getBean(IRR.class)).isNotNull();
+		assertThat(context.getBeanFactory().containsSingleton("irr")).isTrue();
+	}
+
+	@Test
+	public void parseCashflow() {
+		var transactions = IrrCommand.parseCashflow(IrrCommand.SAMPLE_CASHFLOW, "USD");
+
+		assertThat(transactions).hasSize(5);
+		assertThat(transactions.get(0).getAmount().getNumber().doubleValueExact()).isEqualTo(-10000d);
+		assertThat(transactions.get(0).getAmount().getCurrency().getCurrencyCode()).isEqualTo("USD");
+		assertThat(transactions.get(4).getDate()).isEqualTo("2009-04-01");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseMalformedCashflow() {
+		IrrCommand.parseCashflow("2008-01-01:-10000,2750", "USD");
+	}
+
+	@Test
+	public void sampleCashflow() {
+		assertThat(IrrCommand.cashflowOf(IrrCommand.SAMPLE)).isEqualTo(IrrCommand.SAMPLE_CASHFLOW);
+		assertThat(IrrCommand.cashflowOf("2008-01-01:-10000")).isEqualTo("2008-01-01:-10000");
+	}
+
+	@Test
+	public void computeIrr() {
+		context = StockmanParentApplication.batchApplication().run(StockmanParentApplication.BATCH_MODE_ARG);
+
+		var irr = context.getBean(IRR.class).compute(IrrCommand.parseCashflow(IrrCommand.SAMPLE_CASHFLOW, "USD"));
+
+		assertThat(irr).hasValueCloseTo(0.373362535, offset(1e-8));
+	}
+
+}
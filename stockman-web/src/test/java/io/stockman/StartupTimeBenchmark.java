@@ -0,0 +1,103 @@
+package io.stockman;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.io.File.pathSeparator;
+
+/**
+ * Measures wall-clock time from JVM start until exit after the first IRR result,
+ * which is what matters for short batch jobs. JMH can't do it, as it measures inside of already running JVM.
+ *
+ * Every mode starts a fresh JVM with the same JVM and classpath the AppCDS archive is dumped with:
+ * - full: regular application start
+ * - batch: '--batch' mode, see {@link StockmanParentApplication#batchApplication()}
+ * - batch+appcds: batch mode with AppCDS archive
+ *
+ * Usage:
+ * 1. mvn -Pappcds package, optionally -Dappcds.java=/path/to/bin/java
+ * 2. run main() from stockman-web directory, optional arg is number of runs per mode
+ */
+public class StartupTimeBenchmark {
+
+	private static final int DEFAULT_RUNS = 10;
+	private static final int WARMUP_RUNS = 2;
+
+	private static final Path APPCDS_DIR = Paths.get("target", "appcds");
+	private static final Path ARCHIVE = APPCDS_DIR.resolve("stockman.jsa");
+	private static final String IRR_ARG = "--" + IrrCommand.IRR_OPTION + "=" + IrrCommand.SAMPLE;
+
+	public static void main(String[] args) throws Exception {
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+		String java = java();
+		String classpath = classpath();
+
+		report("full", runs, command(java, classpath, List.of(), List.of(IRR_ARG)));
+		report("batch", runs, command(java, classpath, List.of(), List.of("--batch", IRR_ARG)));
+		if (Files.exists(ARCHIVE)) {
+			report("batch+appcds", runs, command(java, classpath,
+					List.of("-XX:SharedArchiveFile=" + ARCHIVE, "-Xshare:on"), List.of("--batch", IRR_ARG)));
+		} else {
+			System.out.println("AppCDS archive " + ARCHIVE + " not found, run 'mvn -Pappcds package' first");
+		}
+	}
+
+	private static String classpath() throws IOException {
+		try (var jars = Files.newDirectoryStream(Paths.get("target"), "*-cds.jar")) {
+			Path jar = jars.iterator().next();
+			String dependencies = new String(Files.readAllBytes(APPCDS_DIR.resolve("classpath.txt"))).trim();
+			return jar + pathSeparator + dependencies;
+		}
+	}
+
+	/**
+	 * The archive can only be used by the JVM which dumped it, so every mode runs on that JVM
+	 */
+	private static String java() throws IOException {
+		return new String(Files.readAllBytes(APPCDS_DIR.resolve("java.txt"))).trim();
+	}
+
+	private static List<String> command(String java, String classpath, List<String> jvmArgs, List<String> appArgs) {
+		var command = new ArrayList<String>();
+		command.add(java);
+		command.addAll(jvmArgs);
+		command.add("-cp");
+		command.add(classpath);
+		command.add(StockmanParentApplication.class.getName());
+		command.addAll(appArgs);
+		return command;
+	}
+
+	private static void report(String mode, int runs, List<String> command) throws Exception {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			run(command);
+		}
+		long[] millis = new long[runs];
+		for (int i = 0; i < runs; i++) {
+			millis[i] = run(command);
+		}
+		Arrays.sort(millis);
+		System.out.printf("%-14s min %5d ms, median %5d ms, max %5d ms%n",
+				mode, millis[0], millis[runs / 2], millis[runs - 1]);
+	}
+
+	private static long run(List<String> command) throws Exception {
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		int exitCode = process.waitFor();
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		if (exitCode != 0) {
+			throw new IllegalStateException("Exit code " + exitCode + " for " + command);
+		}
+		return elapsed;
+	}
+
+}